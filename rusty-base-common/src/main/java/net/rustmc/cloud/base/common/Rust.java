@@ -1,5 +1,6 @@
 package net.rustmc.cloud.base.common;
 
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.Getter;
 import net.rustmc.cloud.base.common.communicate.CommunicateBaseChannelFactoryImpl;
 import net.rustmc.cloud.base.common.communicate.SimpleCommunicatePacketPool;
@@ -40,6 +41,8 @@ public final class Rust {
     private final ICommunicatePacketPool communicatePacketPool = new SimpleCommunicatePacketPool();
     private final ICommunicateBaseChannelFactory channelFactory = new CommunicateBaseChannelFactoryImpl();
     private final ScheduledExecutorService asynchronousExecutor = Executors.newSingleThreadScheduledExecutor();
+    /* bounded pool for cpu and disk heavy work like packing templates, which must not block the asynchronous executor */
+    private final ExecutorService workerExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new DefaultThreadFactory("rusty-worker", true));
     private final String operatingSystem = System.getProperty("os.name");
 
 }
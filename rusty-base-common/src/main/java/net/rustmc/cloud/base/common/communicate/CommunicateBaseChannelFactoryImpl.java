@@ -2,8 +2,12 @@ package net.rustmc.cloud.base.common.communicate;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelId;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
@@ -15,6 +19,7 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import lombok.SneakyThrows;
+import net.rustmc.cloud.base.common.communicate.files.CommunicateFileTransferPool;
 import net.rustmc.cloud.base.communicate.IChannelBootstrap;
 import net.rustmc.cloud.base.communicate.ICommunicateBaseChannel;
 import net.rustmc.cloud.base.communicate.ICommunicateBaseChannelFactory;
@@ -24,6 +29,7 @@ import net.rustmc.cloud.base.util.Pair;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -33,40 +39,72 @@ import java.util.Map;
  */
 public class CommunicateBaseChannelFactoryImpl implements ICommunicateBaseChannelFactory {
 
+    /* file transfers stop reading chunks above the high mark until the socket has drained below the low one */
+    private static final WriteBufferWaterMark WRITE_BUFFER_WATER_MARK = new WriteBufferWaterMark(512 * 1024, 2 * 1024 * 1024);
+
     private final LinkedHashMap<Integer, ChannelGroup> _groups = new LinkedHashMap<Integer, ChannelGroup>();
 
     private final HashMap<Integer, Pair<EventLoopGroup, ICommunicateBaseChannel>> channels = new HashMap<>();
 
-    @SneakyThrows
+    private final HashMap<Integer, Map<ChannelId, Channel>> _channels = new HashMap<>();
+
     @Override
     public ICommunicateBaseChannel open(int port, String host) {
+        return this.open(port, host, false);
+    }
+
+    @Override
+    public ICommunicateBaseChannel open(int port) {
+        return this.open(port, false);
+    }
+
+    @SneakyThrows
+    @Override
+    public ICommunicateBaseChannel open(int port, String host, boolean flushConsolidation) {
         final var client = true;
         final int localID = this._groups.size()+1;
         final EventLoopGroup eventLoopGroup = Epoll.isAvailable() ? new EpollEventLoopGroup() : new NioEventLoopGroup();
         final ICommunicateBaseHandlerPool handlerPool = new CommunicateBaseHandlerPoolImpl();
-        final Channel channel = new Bootstrap()
-                .group(eventLoopGroup)
-                .handler(new CoreBaseChannelInitializer(handlerPool, localID, client))
-                .channel(Epoll.isAvailable() ? EpollSocketChannel.class : NioSocketChannel.class)
-                .connect(host, port).sync().channel();
-        final DefaultCommunicateBaseChannelImpl defaultCommunicateBaseChannel = new DefaultCommunicateBaseChannelImpl(channel, handlerPool, client, localID);
+        final CommunicateRequestPool requestPool = new CommunicateRequestPool();
+        final CommunicateFileTransferPool transferPool = new CommunicateFileTransferPool(handlerPool, requestPool);
+        final Channel channel;
+        try {
+            channel = new Bootstrap()
+                    .group(eventLoopGroup)
+                    .handler(new CoreBaseChannelInitializer(handlerPool, requestPool, localID, client, flushConsolidation))
+                    .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                    .option(ChannelOption.WRITE_BUFFER_WATER_MARK, WRITE_BUFFER_WATER_MARK)
+                    .channel(Epoll.isAvailable() ? EpollSocketChannel.class : NioSocketChannel.class)
+                    .connect(host, port).sync().channel();
+        } catch (Exception e) {
+            /* a client which connects again would otherwise leave the threads of every failed attempt behind */
+            eventLoopGroup.shutdownGracefully();
+            throw e;
+        }
+        final DefaultCommunicateBaseChannelImpl defaultCommunicateBaseChannel = new DefaultCommunicateBaseChannelImpl(channel, handlerPool, requestPool, transferPool, client, localID);
         this.channels.put(localID, new Pair<>(eventLoopGroup, defaultCommunicateBaseChannel));
         return defaultCommunicateBaseChannel;
     }
 
     @SneakyThrows
     @Override
-    public ICommunicateBaseChannel open(int port) {
+    public ICommunicateBaseChannel open(int port, boolean flushConsolidation) {
         final int localID = this._groups.size()+1;
         this._groups.put(localID, new DefaultChannelGroup(GlobalEventExecutor.INSTANCE));
+        this._channels.put(localID, new ConcurrentHashMap<>());
         final EventLoopGroup eventLoopGroup = Epoll.isAvailable() ? new EpollEventLoopGroup() : new NioEventLoopGroup();
         final ICommunicateBaseHandlerPool handlerPool = new CommunicateBaseHandlerPoolImpl();
+        final CommunicateRequestPool requestPool = new CommunicateRequestPool();
+        final CommunicateFileTransferPool transferPool = new CommunicateFileTransferPool(handlerPool, requestPool);
         final Channel channel = new ServerBootstrap()
                 .group(eventLoopGroup)
-                .childHandler(new CoreBaseChannelInitializer(handlerPool, localID, false))
+                .childHandler(new CoreBaseChannelInitializer(handlerPool, requestPool, localID, false, flushConsolidation))
+                .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, WRITE_BUFFER_WATER_MARK)
                 .channel(Epoll.isAvailable() ? EpollServerSocketChannel.class : NioServerSocketChannel.class)
                 .bind(port).sync().channel();
-        final DefaultCommunicateBaseChannelImpl defaultCommunicateBaseChannel = new DefaultCommunicateBaseChannelImpl(channel, handlerPool, false, localID);
+        final DefaultCommunicateBaseChannelImpl defaultCommunicateBaseChannel = new DefaultCommunicateBaseChannelImpl(channel, handlerPool, requestPool, transferPool, false, localID);
         this.channels.put(localID, new Pair<>(eventLoopGroup, defaultCommunicateBaseChannel));
         return defaultCommunicateBaseChannel;
     }
@@ -76,6 +114,11 @@ public class CommunicateBaseChannelFactoryImpl implements ICommunicateBaseChanne
         return this._groups;
     }
 
+    @Override
+    public Map<ChannelId, Channel> getChannels(int localID) {
+        return this._channels.get(localID);
+    }
+
     @Override
     public ICommunicateBaseChannel of(int localID) {
         return this.channels.get(localID).getSecond();
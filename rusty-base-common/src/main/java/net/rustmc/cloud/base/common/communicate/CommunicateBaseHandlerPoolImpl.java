@@ -7,6 +7,7 @@ import net.rustmc.cloud.base.communicate.ICommunicateBaseHandlerPool;
 
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
 /**
@@ -22,6 +23,7 @@ public final class CommunicateBaseHandlerPoolImpl implements ICommunicateBaseHan
     private final List<Consumer<ChannelHandlerContext>> bootHandlers = new ArrayList<>();
     private final List<Consumer<ChannelHandlerContext>> closeHandlers = new ArrayList<>();
     private BiConsumer<ChannelHandlerContext, Object> handler;
+    private BiPredicate<ChannelHandlerContext, CommunicatePacket<?>> filter;
 
     @Override
     public <T extends CommunicatePacket<?>> void subscribe(Class<T> tClass, CommunicateChannelHandler<T> handler) {
@@ -35,6 +37,11 @@ public final class CommunicateBaseHandlerPoolImpl implements ICommunicateBaseHan
         this.handler = consumer;
     }
 
+    @Override
+    public void subscribeFilter(BiPredicate<ChannelHandlerContext, CommunicatePacket<?>> filter) {
+        this.filter = filter;
+    }
+
     @Override
     public void subscribeBootHandler(Consumer<ChannelHandlerContext> handler) {
         this.bootHandlers.add(handler);
@@ -67,4 +74,9 @@ public final class CommunicateBaseHandlerPoolImpl implements ICommunicateBaseHan
         return this.handler;
     }
 
+    @Override
+    public BiPredicate<ChannelHandlerContext, CommunicatePacket<?>> getFilter() {
+        return this.filter;
+    }
+
 }
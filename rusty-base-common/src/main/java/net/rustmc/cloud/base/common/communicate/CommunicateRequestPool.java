@@ -0,0 +1,86 @@
+package net.rustmc.cloud.base.common.communicate;
+
+import io.netty.channel.ChannelId;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class CommunicateRequestPool {
+
+    private static final int ID_MASK = 0x3FFFFFFF;
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final ConcurrentHashMap<Integer, PendingRequest> pending = new ConcurrentHashMap<>();
+
+    /**
+     * marks the packet as a request and registers the future, which is completed by the matching response.
+     *
+     * @param target the channel the response is expected from or null if any channel may answer.
+     */
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> open(CommunicatePacket<T> packet, ChannelId target, long timeout, TimeUnit unit) {
+        final int id = this.next();
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        this.pending.put(id, new PendingRequest(target, (CompletableFuture) future));
+        packet.setCorrelation(id << 1);
+        future.orTimeout(timeout, unit).whenComplete((response, throwable) -> this.pending.remove(id));
+        return future;
+    }
+
+    /**
+     * marks the packet as the response to the given request.
+     */
+    public static void correlate(CommunicatePacket<?> request, CommunicatePacket<?> response) {
+        if (request.getCorrelation() == 0 || request.isResponse())
+            throw new IllegalArgumentException("The packet " + request.getClass().getSimpleName() + " is not a request.");
+        response.setCorrelation(request.getCorrelation() | 1);
+    }
+
+    /**
+     * completes the request the response belongs to, responses nobody waits for anymore are dropped.
+     */
+    public void complete(ChannelId source, CommunicatePacket<?> response) {
+        final int id = response.getCorrelation() >>> 1;
+        final PendingRequest request = this.pending.get(id);
+        if (request == null || (request.target() != null && !request.target().equals(source))) return;
+        if (this.pending.remove(id, request))
+            request.future().complete(response);
+    }
+
+    /**
+     * fails every request which waits for the given channel, or every request at all if the channel is null.
+     */
+    public void fail(ChannelId channel, Throwable cause) {
+        for (final var entry : this.pending.entrySet()) {
+            final PendingRequest request = entry.getValue();
+            if (channel != null && request.target() != null && !request.target().equals(channel)) continue;
+            if (this.pending.remove(entry.getKey(), request))
+                request.future().completeExceptionally(cause);
+        }
+    }
+
+    public int size() {
+        return this.pending.size();
+    }
+
+    private int next() {
+        int id;
+        do {
+            id = this.counter.incrementAndGet() & ID_MASK;
+        } while (id == 0);
+        return id;
+    }
+
+    private record PendingRequest(ChannelId target, CompletableFuture<CommunicatePacket<?>> future) {
+    }
+
+}
@@ -2,9 +2,11 @@ package net.rustmc.cloud.base.common.communicate;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import net.rustmc.cloud.base.common.communicate.codec.CoreChannelDecodeHandler;
 import net.rustmc.cloud.base.common.communicate.codec.CoreChannelEncodeHandler;
-import net.rustmc.cloud.base.common.communicate.files.SimpleChunkedFileHandler;
+import net.rustmc.cloud.base.common.communicate.codec.CoreChannelFrameDecoder;
 import net.rustmc.cloud.base.communicate.ICommunicateBaseHandlerPool;
 
 /**
@@ -16,21 +18,29 @@ import net.rustmc.cloud.base.communicate.ICommunicateBaseHandlerPool;
 public class CoreBaseChannelInitializer extends ChannelInitializer<Channel> {
 
     private final ICommunicateBaseHandlerPool handlerPool;
+    private final CommunicateRequestPool requestPool;
     private final int localID;
     private final boolean client;
+    private final boolean flushConsolidation;
 
-    public CoreBaseChannelInitializer(ICommunicateBaseHandlerPool handlerPool, int localID, boolean client) {
+    public CoreBaseChannelInitializer(ICommunicateBaseHandlerPool handlerPool, CommunicateRequestPool requestPool, int localID, boolean client, boolean flushConsolidation) {
         this.handlerPool = handlerPool;
+        this.requestPool = requestPool;
         this.localID = localID;
         this.client = client;
+        this.flushConsolidation = flushConsolidation;
     }
 
     @Override
     protected void initChannel(Channel channel) {
         channel.pipeline()
+                .addLast(new CoreChannelFrameDecoder())
                 .addLast(new CoreChannelDecodeHandler())
+                .addLast(new ChunkedWriteHandler())
                 .addLast(new CoreChannelEncodeHandler())
-                .addLast(new CoreChannelInboundHandler(handlerPool, localID, client))
-                .addLast(new SimpleChunkedFileHandler());
+                .addLast(new CoreChannelInboundHandler(handlerPool, requestPool, localID, client));
+        if (this.flushConsolidation)
+            /* flushes from outside the event loop are merged as well, not only the ones during a read */
+            channel.pipeline().addFirst(new FlushConsolidationHandler(FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true));
     }
 }
@@ -2,12 +2,15 @@ package net.rustmc.cloud.base.common.communicate;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.DecoderException;
 import lombok.val;
 import net.rustmc.cloud.base.common.Rust;
 import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.ICommunicateBaseHandlerPool;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferChunk;
 
+import java.nio.channels.ClosedChannelException;
 import java.util.function.Consumer;
 
 /**
@@ -19,11 +22,13 @@ import java.util.function.Consumer;
 public class CoreChannelInboundHandler extends SimpleChannelInboundHandler<CommunicatePacket<?>> {
 
     private final ICommunicateBaseHandlerPool handlerPool;
+    private final CommunicateRequestPool requestPool;
     private final int localID;
     private final boolean client;
 
-    public CoreChannelInboundHandler(ICommunicateBaseHandlerPool handlerPool, int localID, boolean client) {
+    public CoreChannelInboundHandler(ICommunicateBaseHandlerPool handlerPool, CommunicateRequestPool requestPool, int localID, boolean client) {
         this.handlerPool = handlerPool;
+        this.requestPool = requestPool;
         this.localID = localID;
         this.client = client;
     }
@@ -31,9 +36,20 @@ public class CoreChannelInboundHandler extends SimpleChannelInboundHandler<Commu
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     protected void channelRead0(ChannelHandlerContext channelHandlerContext, CommunicatePacket<?> packet) {
+        final var filter = this.handlerPool.getFilter();
+        if (filter != null && !filter.test(channelHandlerContext, packet)) {
+            /* the content of a chunk is a retained slice of the frame */
+            if (packet instanceof PacketTransferChunk chunk && chunk.getContent() != null) chunk.getContent().release();
+            return;
+        }
+        if (packet.isResponse()) {
+            this.requestPool.complete(channelHandlerContext.channel().id(), packet);
+            return;
+        }
         Class<? extends CommunicatePacket> type = packet.getClass();
         val cape = DefaultChannelImpl.newChannel(channelHandlerContext.channel());
-        this.handlerPool.getHandler().accept(channelHandlerContext, packet);
+        if (this.handlerPool.getHandler() != null)
+            this.handlerPool.getHandler().accept(channelHandlerContext, packet);
         for (CommunicateChannelHandler handler : this.handlerPool.handlers(type)) {
             handler.handle(packet, cape);
         }
@@ -41,23 +57,23 @@ public class CoreChannelInboundHandler extends SimpleChannelInboundHandler<Commu
 
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        /* indexed before the boot handlers run, so they can already address the channel */
+        if (!this.client)
+            Rust.getInstance().getChannelFactory().getChannels(this.localID).put(ctx.channel().id(), ctx.channel());
         this.handlerPool.getBootHandlers().forEach(handlerContextConsumer -> {
             handlerContextConsumer.accept(ctx);
         });
-        Rust.getInstance().getAsynchronousExecutor().submit(() -> {
-            if (!this.client) {
-                Rust.getInstance().getChannelFactory().getGroups().get(localID).add(ctx.channel());
-            }
-            try {
-                super.channelActive(ctx);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
+        /* stays on the event loop, a storm of connections would otherwise queue up behind the single asynchronous thread */
+        if (!this.client)
+            Rust.getInstance().getChannelFactory().getGroups().get(localID).add(ctx.channel());
+        super.channelActive(ctx);
     }
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (!this.client)
+            Rust.getInstance().getChannelFactory().getChannels(this.localID).remove(ctx.channel().id());
+        this.requestPool.fail(this.client ? null : ctx.channel().id(), new ClosedChannelException());
         for (Consumer<ChannelHandlerContext> handler : this.handlerPool.getCloseHandlers()) {
             handler.accept(ctx);
         }
@@ -66,7 +82,10 @@ public class CoreChannelInboundHandler extends SimpleChannelInboundHandler<Commu
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
-        super.exceptionCaught(ctx, cause);
+        /* writes are dispatched with the void promise, so failed writes end up here */
+        cause.printStackTrace();
+        /* the stream cannot be read any further once a frame is broken */
+        if (cause instanceof DecoderException) ctx.close();
     }
 
 }
@@ -1,6 +1,8 @@
 package net.rustmc.cloud.base.common.communicate;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelId;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.ICommunicateChannel;
 
 import java.net.SocketAddress;
@@ -43,4 +45,20 @@ public class DefaultChannelImpl implements ICommunicateChannel {
         return this.core.id().asShortText();
     }
 
+    @Override
+    public ChannelId getChannelId() {
+        return this.core.id();
+    }
+
+    @Override
+    public Channel origin() {
+        return this.core;
+    }
+
+    @Override
+    public void respond(CommunicatePacket<?> request, CommunicatePacket<?> response) {
+        CommunicateRequestPool.correlate(request, response);
+        this.core.writeAndFlush(response, this.core.voidPromise());
+    }
+
 }
@@ -1,18 +1,20 @@
 package net.rustmc.cloud.base.common.communicate;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.*;
-import io.netty.handler.stream.ChunkedFile;
-import lombok.SneakyThrows;
 import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.common.communicate.codec.CoreChannelEncodeHandler;
+import net.rustmc.cloud.base.common.communicate.files.CommunicateFileTransferPool;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.ICommunicateBaseChannel;
 import net.rustmc.cloud.base.communicate.ICommunicateBaseHandlerPool;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.RandomAccessFile;
 import java.net.SocketAddress;
-import java.nio.channels.FileChannel;
+import java.util.Collection;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -24,59 +26,134 @@ public class DefaultCommunicateBaseChannelImpl implements ICommunicateBaseChanne
 
     private final Channel core;
     private final ICommunicateBaseHandlerPool communicateBaseHandlerPool;
+    private final CommunicateRequestPool requestPool;
+    private final CommunicateFileTransferPool transferPool;
     private final boolean client;
     private final int localID;
 
-    public DefaultCommunicateBaseChannelImpl(Channel core, ICommunicateBaseHandlerPool communicateBaseHandlerPool, boolean client, int localID) {
+    public DefaultCommunicateBaseChannelImpl(Channel core, ICommunicateBaseHandlerPool communicateBaseHandlerPool, CommunicateRequestPool requestPool, CommunicateFileTransferPool transferPool, boolean client, int localID) {
         this.core = core;
         this.communicateBaseHandlerPool = communicateBaseHandlerPool;
+        this.requestPool = requestPool;
+        this.transferPool = transferPool;
         this.client = client;
         this.localID = localID;
     }
 
     @Override
     public <T extends CommunicatePacket<?>> void dispatch(T packet) {
+        this.write(packet);
+        this.flush();
+    }
+
+    @Override
+    public ICommunicateBaseHandlerPool getBaseHandlerPool() {
+        return this.communicateBaseHandlerPool;
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> void dispatch(T packet, ChannelId channelId) {
+        final Channel channel = this.target(channelId);
+        if (channel != null)
+            channel.writeAndFlush(packet, channel.voidPromise());
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> void write(T packet) {
         if (this.isClient()) {
-            this.core.writeAndFlush(packet).addListener(new ChannelFutureListener() {
-                public void operationComplete(ChannelFuture channelFuture) {
-                    if (!channelFuture.isSuccess()) {
-                        channelFuture.cause().printStackTrace();
-                    }
+            this.core.write(packet, this.core.voidPromise());
+        } else {
+            /* the packet is encoded once and the same frame is shared by every connected channel */
+            final ByteBuf frame = this.core.alloc().ioBuffer();
+            try {
+                CoreChannelEncodeHandler.encode(packet, frame);
+                for (Channel channel : Rust.getInstance().getChannelFactory().getGroups().get(this.localID)) {
+                    channel.write(frame.retainedDuplicate(), channel.voidPromise());
                 }
-            });
+            } finally {
+                frame.release();
+            }
+        }
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> void write(T packet, ChannelId channelId) {
+        final Channel channel = this.target(channelId);
+        if (channel != null)
+            channel.write(packet, channel.voidPromise());
+    }
+
+    @Override
+    public void flush() {
+        if (this.isClient()) {
+            this.core.flush();
         } else {
             for (Channel channel : Rust.getInstance().getChannelFactory().getGroups().get(this.localID)) {
-                channel.writeAndFlush(packet).addListener(new ChannelFutureListener() {
-                    public void operationComplete(ChannelFuture channelFuture) {
-                        if (!channelFuture.isSuccess()) {
-                            channelFuture.cause().printStackTrace();
-                        }
-                    }
-                });
+                channel.flush();
             }
         }
     }
 
     @Override
-    public ICommunicateBaseHandlerPool getBaseHandlerPool() {
-        return this.communicateBaseHandlerPool;
+    public void flush(ChannelId channelId) {
+        final Channel channel = this.target(channelId);
+        if (channel != null)
+            channel.flush();
     }
 
     @Override
-    public <T extends CommunicatePacket<?>> void dispatch(T packet, String uniqueID) {
-        if (this.isClient())
-            throw new UnsupportedOperationException("Only the server can send to certain client packets.");
-        for (Channel channel : Rust.getInstance().getChannelFactory().getGroups().get(this.localID)) {
-            if (channel.id().asLongText().equals(uniqueID)) {
-                channel.writeAndFlush(packet).addListener(new ChannelFutureListener() {
-                    public void operationComplete(ChannelFuture channelFuture) {
-                        if (!channelFuture.isSuccess()) {
-                            channelFuture.cause().printStackTrace();
-                        }
-                    }
-                });
-            }
+    public void dispatchBatch(Collection<? extends CommunicatePacket<?>> packets) {
+        for (CommunicatePacket<?> packet : packets) {
+            this.write(packet);
         }
+        this.flush();
+    }
+
+    @Override
+    public void dispatchBatch(Collection<? extends CommunicatePacket<?>> packets, ChannelId channelId) {
+        final Channel channel = this.target(channelId);
+        if (channel == null) return;
+        for (CommunicatePacket<?> packet : packets) {
+            channel.write(packet, channel.voidPromise());
+        }
+        channel.flush();
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(CommunicatePacket<T> packet) {
+        return this.request(packet, DEFAULT_REQUEST_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(CommunicatePacket<T> packet, long timeout, TimeUnit unit) {
+        if (!this.isClient())
+            throw new UnsupportedOperationException("The server has to address a certain client with its requests.");
+        final CompletableFuture<T> future = this.requestPool.open(packet, null, timeout, unit);
+        this.core.writeAndFlush(packet, this.core.voidPromise());
+        return future;
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(CommunicatePacket<T> packet, ChannelId channelId) {
+        return this.request(packet, channelId, DEFAULT_REQUEST_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(CommunicatePacket<T> packet, ChannelId channelId, long timeout, TimeUnit unit) {
+        final Channel channel = this.target(channelId);
+        if (channel == null)
+            return CompletableFuture.failedFuture(new ClosedChannelException());
+        final CompletableFuture<T> future = this.requestPool.open(packet, channelId, timeout, unit);
+        channel.writeAndFlush(packet, channel.voidPromise());
+        return future;
+    }
+
+    @Override
+    public void respond(CommunicatePacket<?> request, CommunicatePacket<?> response) {
+        if (!this.isClient())
+            throw new UnsupportedOperationException("The server has to respond through the channel the request came from.");
+        CommunicateRequestPool.correlate(request, response);
+        this.core.writeAndFlush(response, this.core.voidPromise());
     }
 
     @Override
@@ -91,28 +168,28 @@ public class DefaultCommunicateBaseChannelImpl implements ICommunicateBaseChanne
 
     @Override
     public void dispatch(Object o) {
-        this.core.writeAndFlush(o);
+        this.core.writeAndFlush(o, this.core.voidPromise());
     }
 
-    @SneakyThrows
-    @SuppressWarnings({"DuplicatedCode", "resource"})
     @Override
-    public void dispatch(File file, String uniqueID) {
+    public CompletableFuture<Void> transfer(File file, String destination) {
+        if (!this.isClient())
+            throw new UnsupportedOperationException("The server has to address a certain client with its transfers.");
+        return this.transferPool.send(this.core, null, file, destination);
+    }
+
+    @Override
+    public CompletableFuture<Void> transfer(File file, String destination, ChannelId channelId) {
+        final Channel channel = this.target(channelId);
+        if (channel == null)
+            return CompletableFuture.failedFuture(new ClosedChannelException());
+        return this.transferPool.send(channel, channelId, file, destination);
+    }
+
+    private Channel target(ChannelId channelId) {
         if (this.isClient())
             throw new UnsupportedOperationException("Only the server can send to certain client packets.");
-        FileInputStream in = new FileInputStream(file);
-        FileRegion region = new DefaultFileRegion(in.getChannel(), 0, file.length());
-        for (Channel channel : Rust.getInstance().getChannelFactory().getGroups().get(this.localID)) {
-            if (channel.id().asLongText().equals(uniqueID)) {
-                channel.writeAndFlush(region).addListener(new ChannelFutureListener() {
-                    public void operationComplete(ChannelFuture channelFuture) {
-                        if (!channelFuture.isSuccess()) {
-                            channelFuture.cause().printStackTrace();
-                        }
-                    }
-                });
-            }
-        }
+        return Rust.getInstance().getChannelFactory().getChannels(this.localID).get(channelId);
     }
 
     @Override
@@ -134,4 +211,9 @@ public class DefaultCommunicateBaseChannelImpl implements ICommunicateBaseChanne
     public String getShortID() {
         return this.core.id().asShortText();
     }
+
+    @Override
+    public ChannelId getChannelId() {
+        return this.core.id();
+    }
 }
@@ -14,6 +14,7 @@ public class SimpleChannelBootstrap implements IChannelBootstrap {
 
     private int port;
     private String host;
+    private boolean flushConsolidation;
 
     @Override
     public IChannelBootstrap port(int port) {
@@ -27,8 +28,14 @@ public class SimpleChannelBootstrap implements IChannelBootstrap {
         return this;
     }
 
+    @Override
+    public IChannelBootstrap flushConsolidation(boolean flushConsolidation) {
+        this.flushConsolidation = flushConsolidation;
+        return this;
+    }
+
     @Override
     public ICommunicateBaseChannel open() {
-        return this.host == null ? Rust.getInstance().getChannelFactory().open(port) : Rust.getInstance().getChannelFactory().open(port, host);
+        return this.host == null ? Rust.getInstance().getChannelFactory().open(port, flushConsolidation) : Rust.getInstance().getChannelFactory().open(port, host, flushConsolidation);
     }
 }
@@ -3,8 +3,13 @@ package net.rustmc.cloud.base.common.communicate;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.ICommunicatePacketPool;
 import net.rustmc.cloud.base.communicate.PacketIdentifier;
+import net.rustmc.cloud.base.util.operations.UnsafeInstanceOperations;
 
-import java.util.HashMap;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
@@ -16,7 +21,20 @@ import java.util.Map;
 @SuppressWarnings({"unchecked"})
 public class SimpleCommunicatePacketPool implements ICommunicatePacketPool {
 
-    private final Map<Character, Class<? extends CommunicatePacket<?>>> pool = new HashMap<>();
+    private static final char UNKNOWN = '0';
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(CommunicatePacket.class);
+
+    /* indexed by the packet identifier, replaced as a whole on every registration */
+    private volatile Registration[] registrations = new Registration[0];
+    private final Map<Class<?>, Character> identifiers = new IdentityHashMap<>();
+    private final ClassValue<Character> lookup = new ClassValue<>() {
+        @Override
+        protected Character computeValue(Class<?> type) {
+            synchronized (SimpleCommunicatePacketPool.this) {
+                return identifiers.getOrDefault(type, UNKNOWN);
+            }
+        }
+    };
 
     @Override
     public void register(Class<? extends CommunicatePacket<?>>... packets) {
@@ -25,22 +43,68 @@ public class SimpleCommunicatePacketPool implements ICommunicatePacketPool {
         }
     }
 
-    protected void _register(Class<? extends CommunicatePacket<?>> packet) {
+    protected synchronized void _register(Class<? extends CommunicatePacket<?>> packet) {
         final PacketIdentifier identifier = packet.getAnnotation(PacketIdentifier.class);
-        this.pool.put(identifier.identifier(), packet);
+        final char id = identifier.identifier();
+        Registration[] temp = this.registrations;
+        if (id >= temp.length) {
+            temp = Arrays.copyOf(temp, id + 1);
+        } else {
+            temp = temp.clone();
+        }
+        final Registration previous = temp[id];
+        temp[id] = new Registration(packet, constructor(packet));
+        if (previous != null) {
+            this.identifiers.remove(previous.type());
+            this.lookup.remove(previous.type());
+        }
+        this.identifiers.put(packet, id);
+        this.lookup.remove(packet);
+        this.registrations = temp;
     }
 
     @Override
     public Class<? extends CommunicatePacket<?>> of(char identifier) {
-        return this.pool.get(identifier);
+        final Registration registration = this.registration(identifier);
+        return registration == null ? null : registration.type();
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public char of(Class<? extends CommunicatePacket> tClass) {
-        for (Map.Entry<Character, Class<? extends CommunicatePacket<?>>> entry : this.pool.entrySet()) {
-            if (entry.getValue().equals(tClass)) return entry.getKey();
+        return this.lookup.get(tClass);
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> T construct(char identifier) {
+        final Registration registration = this.registration(identifier);
+        if (registration == null) return null;
+        if (registration.constructor() == null)
+            return (T) UnsafeInstanceOperations.construct(registration.type());
+        try {
+            return (T) (CommunicatePacket<?>) registration.constructor().invokeExact();
+        } catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
         }
-        return '0';
     }
+
+    private Registration registration(char identifier) {
+        final Registration[] registrations = this.registrations;
+        return identifier < registrations.length ? registrations[identifier] : null;
+    }
+
+    private static MethodHandle constructor(Class<? extends CommunicatePacket<?>> packet) {
+        try {
+            final var constructor = packet.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            /* packets without an empty constructor are still allocated through unsafe */
+            return null;
+        }
+    }
+
+    private record Registration(Class<? extends CommunicatePacket<?>> type, MethodHandle constructor) {
+    }
+
 }
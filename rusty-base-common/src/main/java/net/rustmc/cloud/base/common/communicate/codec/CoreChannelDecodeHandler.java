@@ -2,11 +2,11 @@ package net.rustmc.cloud.base.common.communicate.codec;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.MessageToMessageDecoder;
 import net.rustmc.cloud.base.common.Rust;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
-import net.rustmc.cloud.base.packets.PacketPauseCodec;
-import net.rustmc.cloud.base.util.operations.UnsafeInstanceOperations;
+import net.rustmc.cloud.base.util.ByteBufHelper;
 
 import java.util.List;
 
@@ -16,31 +16,20 @@ import java.util.List;
  * @author Alexander Jilge
  * @since 23.10.2022
  */
-public class CoreChannelDecodeHandler extends ByteToMessageDecoder {
-
-    boolean pause = false;
+public class CoreChannelDecodeHandler extends MessageToMessageDecoder<ByteBuf> {
 
     @Override
-    protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf buf, List<Object> output) {
-        if (!pause) {
-            final Class<? extends CommunicatePacket<?>> scaffold = Rust.getInstance().getCommunicatePacketPool().of(buf.getChar(0));
-            if (scaffold == null) {
-                output.add(buf);
-                return;
-            } else {
-                buf.readChar();
-            }
-            final CommunicatePacket<?> packet = UnsafeInstanceOperations.construct(scaffold);
-            if (packet.getClass().equals(PacketPauseCodec.class)) {
-                pause = true;
-                return;
-            }
-            packet.decode(buf);
-            output.add(packet);
-        } else {
-            output.add(buf);
-            pause = false;
-        }
+    protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf frame, List<Object> output) {
+        final char identifier = frame.readChar();
+        final int correlation = ByteBufHelper.readVarInt(frame);
+        if (correlation < 0)
+            throw new DecoderException("Incomplete correlation of packet: " + identifier);
+        final CommunicatePacket<?> packet = Rust.getInstance().getCommunicatePacketPool().construct(identifier);
+        if (packet == null)
+            throw new DecoderException("Unknown packet identifier: " + identifier);
+        packet.setCorrelation(correlation);
+        packet.decode(frame);
+        output.add(packet);
     }
 
 }
@@ -5,6 +5,8 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import net.rustmc.cloud.base.common.Rust;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.RecyclableCommunicatePacket;
+import net.rustmc.cloud.base.util.ByteBufHelper;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -16,8 +18,29 @@ public class CoreChannelEncodeHandler extends MessageToByteEncoder<CommunicatePa
 
     @Override
     protected void encode(ChannelHandlerContext channelHandlerContext, CommunicatePacket<?> input, ByteBuf output) {
+        encode(input, output);
+    }
+
+    /**
+     * writes the packet as a complete frame into an empty buffer and recycles it afterwards if possible.
+     */
+    public static void encode(CommunicatePacket<?> input, ByteBuf output) {
+        /* the length is unknown until the packet is encoded, so space for the largest var int is reserved in front */
+        final int start = output.writerIndex();
+        final int content = start + ByteBufHelper.MAX_VAR_INT_LENGTH;
+        output.writerIndex(content);
         output.writeChar(Rust.getInstance().getCommunicatePacketPool().of(input.getClass()));
+        ByteBufHelper.writeVarInt(input.getCorrelation(), output);
         input.encode(output);
+        final int end = output.writerIndex();
+        final int length = end - content;
+        final int header = content - ByteBufHelper.varIntSize(length);
+        output.writerIndex(header);
+        ByteBufHelper.writeVarInt(length, output);
+        output.writerIndex(end);
+        output.readerIndex(header);
+        if (input instanceof RecyclableCommunicatePacket<?> recyclable)
+            recyclable.recycle();
     }
 
 }
@@ -0,0 +1,53 @@
+package net.rustmc.cloud.base.common.communicate.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+import net.rustmc.cloud.base.util.ByteBufHelper;
+
+import java.util.List;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class CoreChannelFrameDecoder extends ByteToMessageDecoder {
+
+    /* far above the chunks of a file transfer, only a manifest of a huge directory comes close to it */
+    public static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    /*
+     * the length prefix is read here instead of with ByteBufHelper.readVarInt, which answers -1 for an incomplete var int
+     * as well as for the complete one of -1, so a peer could make the cumulation grow without limit.
+     */
+    @Override
+    protected void decode(ChannelHandlerContext channelHandlerContext, ByteBuf buf, List<Object> output) {
+        buf.markReaderIndex();
+        int length = 0;
+        for (int i = 0; ; i++) {
+            if (i == ByteBufHelper.MAX_VAR_INT_LENGTH)
+                throw new CorruptedFrameException("The frame length is longer than " + ByteBufHelper.MAX_VAR_INT_LENGTH + " bytes");
+            if (!buf.isReadable()) {
+                buf.resetReaderIndex();
+                return;
+            }
+            final byte current = buf.readByte();
+            length |= (current & 0x7F) << (i * 7);
+            if ((current & 0x80) == 0) break;
+        }
+        if (length < 0)
+            throw new CorruptedFrameException("Negative frame length: " + length);
+        if (length > MAX_FRAME_LENGTH)
+            throw new TooLongFrameException("Frame length " + length + " exceeds " + MAX_FRAME_LENGTH);
+        if (buf.readableBytes() < length) {
+            buf.resetReaderIndex();
+            return;
+        }
+        output.add(buf.readRetainedSlice(length));
+    }
+
+}
@@ -0,0 +1,339 @@
+package net.rustmc.cloud.base.common.communicate.files;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelId;
+import io.netty.util.AttributeKey;
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.common.communicate.CommunicateRequestPool;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.ICommunicateBaseHandlerPool;
+import net.rustmc.cloud.base.communicate.ICommunicateChannel;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferBegin;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferChunk;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferEnd;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferState;
+import net.rustmc.cloud.base.util.FileHelper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public final class CommunicateFileTransferPool {
+
+    public static final int CHUNK_SIZE = 64 * 1024;
+    private static final int ATTEMPTS = 3;
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    /* the destination is chosen by the other side, so it has to stay below this directory */
+    private static final Path ROOT = Path.of("temp").toAbsolutePath().normalize();
+    private static final Pattern CHECKSUM = Pattern.compile("[0-9a-f]{64}");
+    private static final long HIGH_WATER_MARK = 4L * 1024 * 1024;
+    private static final long LOW_WATER_MARK = 1024 * 1024;
+    /* auto read is a setting of the whole channel, so the bytes waiting for the disk are counted for all its transfers */
+    private static final AttributeKey<AtomicLong> PENDING = AttributeKey.valueOf("rusty-transfer-pending");
+
+    private final CommunicateRequestPool requestPool;
+    private final AtomicInteger counter = new AtomicInteger();
+    private final ConcurrentHashMap<Key, Receiving> receiving = new ConcurrentHashMap<>();
+
+    public CommunicateFileTransferPool(ICommunicateBaseHandlerPool handlerPool, CommunicateRequestPool requestPool) {
+        this.requestPool = requestPool;
+        handlerPool.subscribe(PacketTransferBegin.class, this::begin);
+        handlerPool.subscribe(PacketTransferChunk.class, this::chunk);
+        handlerPool.subscribe(PacketTransferEnd.class, this::end);
+        handlerPool.subscribeCloseHandler(ctx -> this.close(ctx.channel().id()));
+    }
+
+    /**
+     * sends the file in chunks to the destination path on the other side of the channel.
+     * the checksum of the file is computed on the calling thread, everything else happens asynchronously.
+     * a transfer of the same file to the same destination continues where a previous, broken one has stopped.
+     *
+     * @param target the id of the receiving channel or null if this is the client side.
+     */
+    public CompletableFuture<Void> send(Channel channel, ChannelId target, File file, String destination) {
+        final String checksum;
+        try {
+            checksum = FileHelper.checksum(file);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final int transferID = this.counter.incrementAndGet();
+        return this.attempt(channel, target, file, new PacketTransferBegin(transferID, destination, file.length(), checksum), ATTEMPTS);
+    }
+
+    private CompletableFuture<Void> attempt(Channel channel, ChannelId target, File file, PacketTransferBegin begin, int attempts) {
+        return this.request(channel, target, new PacketTransferBegin(begin.getTransferID(), begin.getDestination(), begin.getSize(), begin.getChecksum()))
+                .thenCompose(state -> {
+                    if (state.getState() != PacketTransferState.State.ACCEPTED)
+                        return CompletableFuture.failedFuture(new IllegalStateException("The transfer of " + file.getName() + " has not been accepted."));
+                    return this.stream(channel, file, begin, state.getOffset());
+                })
+                .thenCompose(ignored -> this.request(channel, target, new PacketTransferEnd(begin.getTransferID())))
+                .thenCompose(state -> {
+                    if (state.getState() == PacketTransferState.State.COMPLETE)
+                        return CompletableFuture.completedFuture(null);
+                    if (attempts <= 1)
+                        return CompletableFuture.failedFuture(new IllegalStateException("The transfer of " + file.getName() + " ended as " + state.getState() + "."));
+                    return this.attempt(channel, target, file, begin, attempts - 1);
+                });
+    }
+
+    private <T extends CommunicatePacket<?>> CompletableFuture<T> request(Channel channel, ChannelId target, CommunicatePacket<T> packet) {
+        final CompletableFuture<T> future = this.requestPool.open(packet, target, 30, TimeUnit.SECONDS);
+        channel.writeAndFlush(packet, channel.voidPromise());
+        return future;
+    }
+
+    /**
+     * writes the chunks through the chunked write handler, which only reads the next chunk while the channel is writable.
+     */
+    private CompletableFuture<Void> stream(Channel channel, File file, PacketTransferBegin begin, long offset) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            final FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            channel.writeAndFlush(new TransferChunkedInput(source, begin.getTransferID(), offset, begin.getSize(), CHUNK_SIZE)).addListener(result -> {
+                if (result.isSuccess()) future.complete(null);
+                    else future.completeExceptionally(result.cause());
+            });
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return the destination below the temp directory, null if the path of the other side points anywhere else.
+     */
+    public static Path resolve(String destination) {
+        final Path target;
+        try {
+            target = Path.of(destination).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        return target.startsWith(ROOT) && !target.equals(ROOT) ? target : null;
+    }
+
+    /*
+     * the partial file is opened and hashed again on a worker, a resumed file can be large.
+     * a previous transfer with the same id is only closed once its pending writes are done.
+     */
+    private void begin(PacketTransferBegin packet, ICommunicateChannel channel) {
+        final Key key = new Key(channel.getChannelId(), packet.getTransferID());
+        final Path target = resolve(packet.getDestination());
+        if (target == null || packet.getSize() < 0 || packet.getChecksum() == null || !CHECKSUM.matcher(packet.getChecksum()).matches()) {
+            channel.respond(packet, new PacketTransferState(packet.getTransferID(), PacketTransferState.State.CORRUPT, 0));
+            return;
+        }
+        final Receiving previous = this.receiving.remove(key);
+        final CompletableFuture<Void> closed = previous == null ? CompletableFuture.completedFuture(null) : previous.closeAfterWrites();
+        closed.thenRunAsync(() -> {
+            try {
+                if (target.getParent() != null) Files.createDirectories(target.getParent());
+                /* the checksum is part of the name, so a partial file is only resumed with the same content */
+                final Path part = target.resolveSibling(target.getFileName() + "." + packet.getChecksum().substring(0, 16) + ".part");
+                final FileChannel file = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                final long offset = Math.min(file.size(), packet.getSize());
+                file.truncate(offset);
+                final Receiving transfer = new Receiving(target, part, file, packet.getSize(), packet.getChecksum(), digest());
+                transfer.resume(offset);
+                this.receiving.put(key, transfer);
+                /* the close handler may already have run */
+                if (!channel.origin().isActive() && this.receiving.remove(key, transfer)) {
+                    transfer.close();
+                    return;
+                }
+                channel.respond(packet, new PacketTransferState(packet.getTransferID(), PacketTransferState.State.ACCEPTED, offset));
+            } catch (IOException e) {
+                channel.respond(packet, new PacketTransferState(packet.getTransferID(), PacketTransferState.State.CORRUPT, 0));
+            }
+        }, Rust.getInstance().getWorkerExecutor());
+    }
+
+    /*
+     * the chunks are checked in order on the event loop and written on a worker, each transfer keeps its own chain
+     * so its chunks stay in order. the channel stops reading while too many bytes wait for the disk.
+     */
+    private void chunk(PacketTransferChunk packet, ICommunicateChannel channel) {
+        final ByteBuf content = packet.getContent();
+        final Receiving transfer = this.receiving.get(new Key(channel.getChannelId(), packet.getTransferID()));
+        if (transfer == null || transfer.corrupt || transfer.expected != packet.getOffset() || !packet.isValid()) {
+            if (transfer != null && !packet.isValid()) transfer.corrupt = true;
+            content.release();
+            return;
+        }
+        final long offset = packet.getOffset();
+        final int length = content.readableBytes();
+        transfer.expected = offset + length;
+        final Channel origin = channel.origin();
+        final AtomicLong pending = pending(origin);
+        if (pending.addAndGet(length) > HIGH_WATER_MARK) origin.config().setAutoRead(false);
+        transfer.tail = transfer.tail.thenRunAsync(() -> {
+            try {
+                if (!transfer.corrupt) transfer.write(content, offset);
+            } catch (IOException e) {
+                transfer.corrupt = true;
+                e.printStackTrace();
+            } finally {
+                content.release();
+                /* the channel is switched on the event loop, where the counter is checked again, so it cannot stay off */
+                if (pending.addAndGet(-length) <= LOW_WATER_MARK) origin.eventLoop().execute(() -> {
+                    if (pending.get() <= LOW_WATER_MARK && !origin.config().isAutoRead()) origin.config().setAutoRead(true);
+                });
+            }
+        }, Rust.getInstance().getWorkerExecutor());
+    }
+
+    private static AtomicLong pending(Channel channel) {
+        final AtomicLong pending = channel.attr(PENDING).get();
+        if (pending != null) return pending;
+        final AtomicLong created = new AtomicLong();
+        final AtomicLong previous = channel.attr(PENDING).setIfAbsent(created);
+        return previous != null ? previous : created;
+    }
+
+    private void end(PacketTransferEnd packet, ICommunicateChannel channel) {
+        final Receiving transfer = this.receiving.remove(new Key(channel.getChannelId(), packet.getTransferID()));
+        if (transfer == null) {
+            channel.respond(packet, new PacketTransferState(packet.getTransferID(), PacketTransferState.State.INCOMPLETE, 0));
+            return;
+        }
+        transfer.tail.thenRunAsync(() -> this.complete(packet, channel, transfer), Rust.getInstance().getWorkerExecutor());
+    }
+
+    private void complete(PacketTransferEnd packet, ICommunicateChannel channel, Receiving transfer) {
+        transfer.close();
+        if (transfer.corrupt || transfer.offset != transfer.size) {
+            channel.respond(packet, new PacketTransferState(packet.getTransferID(), PacketTransferState.State.INCOMPLETE, transfer.offset));
+            return;
+        }
+        try {
+            if (!ByteBufUtil.hexDump(transfer.digest.digest()).equals(transfer.checksum)) {
+                Files.deleteIfExists(transfer.part);
+                channel.respond(packet, new PacketTransferState(packet.getTransferID(), PacketTransferState.State.CORRUPT, 0));
+                return;
+            }
+            try {
+                Files.move(transfer.part, transfer.target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(transfer.part, transfer.target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            channel.respond(packet, new PacketTransferState(packet.getTransferID(), PacketTransferState.State.COMPLETE, transfer.size));
+        } catch (IOException e) {
+            channel.respond(packet, new PacketTransferState(packet.getTransferID(), PacketTransferState.State.CORRUPT, 0));
+        }
+    }
+
+    /**
+     * closes the files of every transfer of the channel, the partial files stay for a later resume.
+     */
+    private void close(ChannelId channel) {
+        this.receiving.entrySet().removeIf(entry -> {
+            if (!entry.getKey().channel().equals(channel)) return false;
+            entry.getValue().closeAfterWrites();
+            return true;
+        });
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(ChannelId channel, int transferID) {
+    }
+
+    private static final class Receiving {
+
+        private final Path target;
+        private final Path part;
+        private final FileChannel file;
+        private final long size;
+        private final String checksum;
+        private final MessageDigest digest;
+        private volatile CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+        /* the offset the next chunk has to start at, only touched on the event loop */
+        private long expected;
+        /* the bytes which are stored, only touched by the chain of the transfer */
+        private long offset;
+        private volatile boolean corrupt;
+
+        private Receiving(Path target, Path part, FileChannel file, long size, String checksum, MessageDigest digest) {
+            this.target = target;
+            this.part = part;
+            this.file = file;
+            this.size = size;
+            this.checksum = checksum;
+            this.digest = digest;
+        }
+
+        /**
+         * feeds the already stored bytes into the digest, so it covers the whole file once the rest has arrived.
+         */
+        private void resume(long offset) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long position = 0;
+            while (position < offset) {
+                buffer.clear().limit((int) Math.min(BUFFER_SIZE, offset - position));
+                final int read = this.file.read(buffer, position);
+                if (read < 0) break;
+                buffer.flip();
+                this.digest.update(buffer);
+                position += read;
+            }
+            this.offset = position;
+            this.expected = position;
+        }
+
+        private void write(ByteBuf content, long position) throws IOException {
+            for (final ByteBuffer buffer : content.nioBuffers()) {
+                this.digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    position += this.file.write(buffer, position);
+                }
+            }
+            this.offset = position;
+        }
+
+        private CompletableFuture<Void> closeAfterWrites() {
+            return this.tail.whenComplete((ignored, throwable) -> this.close());
+        }
+
+        private void close() {
+            try {
+                this.file.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package net.rustmc.cloud.base.common.communicate.files;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.stream.ChunkedInput;
+import net.rustmc.cloud.base.common.communicate.codec.CoreChannelEncodeHandler;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferChunk;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class TransferChunkedInput implements ChunkedInput<ByteBuf> {
+
+    private final FileChannel file;
+    private final int transferID;
+    private final long start;
+    private final long end;
+    private final int chunkSize;
+    private long offset;
+
+    public TransferChunkedInput(FileChannel file, int transferID, long start, long end, int chunkSize) {
+        this.file = file;
+        this.transferID = transferID;
+        this.start = start;
+        this.end = end;
+        this.chunkSize = chunkSize;
+        this.offset = start;
+    }
+
+    @Override
+    public boolean isEndOfInput() {
+        return this.offset >= this.end;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.file.close();
+    }
+
+    @Deprecated
+    @Override
+    public ByteBuf readChunk(ChannelHandlerContext ctx) {
+        return this.readChunk(ctx.alloc());
+    }
+
+    /**
+     * reads the next chunk and returns it as a complete frame, so it passes the encoder untouched.
+     */
+    @Override
+    public ByteBuf readChunk(ByteBufAllocator allocator) {
+        if (this.isEndOfInput()) return null;
+        final int length = (int) Math.min(this.chunkSize, this.end - this.offset);
+        final ByteBuf frame = allocator.ioBuffer(length + 32);
+        try {
+            CoreChannelEncodeHandler.encode(new PacketTransferChunk(this.transferID, this.offset, length, this.file), frame);
+        } catch (RuntimeException e) {
+            frame.release();
+            throw e;
+        }
+        this.offset += length;
+        return frame;
+    }
+
+    @Override
+    public long length() {
+        return this.end - this.start;
+    }
+
+    @Override
+    public long progress() {
+        return this.offset - this.start;
+    }
+
+}
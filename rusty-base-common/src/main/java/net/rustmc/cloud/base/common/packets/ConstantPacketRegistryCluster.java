@@ -1,16 +1,25 @@
 package net.rustmc.cloud.base.common.packets;
 
 import net.rustmc.cloud.base.common.Rust;
-import net.rustmc.cloud.base.packets.PacketPauseCodec;
 import net.rustmc.cloud.base.packets.input.handshake.PacketInDisconnect;
 import net.rustmc.cloud.base.packets.input.handshake.PacketInHandshake;
+import net.rustmc.cloud.base.packets.input.node.PacketInNodeResources;
+import net.rustmc.cloud.base.packets.input.transfer.PacketInGroupManifest;
+import net.rustmc.cloud.base.packets.input.transfer.PacketInStaticSave;
 import net.rustmc.cloud.base.packets.output.PacketOutGroupInfo;
 import net.rustmc.cloud.base.packets.output.PacketOutGroupStart;
 import net.rustmc.cloud.base.packets.output.PacketOutGroupStop;
 import net.rustmc.cloud.base.packets.output.handshake.PacketOutHandshake;
+import net.rustmc.cloud.base.packets.output.node.PacketOutHeartbeat;
 import net.rustmc.cloud.base.packets.output.service.PacketOutServiceCommand;
 import net.rustmc.cloud.base.packets.output.service.PacketOutServiceShutdown;
+import net.rustmc.cloud.base.packets.output.transfer.PacketOutGroupManifest;
 import net.rustmc.cloud.base.packets.output.transfer.PacketOutGroupTransfer;
+import net.rustmc.cloud.base.packets.output.transfer.PacketOutStaticSave;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferBegin;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferChunk;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferEnd;
+import net.rustmc.cloud.base.packets.transfer.PacketTransferState;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -34,7 +43,16 @@ public class ConstantPacketRegistryCluster {
                         PacketOutGroupTransfer.class,
                         PacketOutServiceShutdown.class,
                         PacketOutServiceCommand.class,
-                        PacketPauseCodec.class
+                        PacketTransferBegin.class,
+                        PacketTransferChunk.class,
+                        PacketTransferEnd.class,
+                        PacketTransferState.class,
+                        PacketOutGroupManifest.class,
+                        PacketInGroupManifest.class,
+                        PacketInStaticSave.class,
+                        PacketOutStaticSave.class,
+                        PacketInNodeResources.class,
+                        PacketOutHeartbeat.class
                 );
     }
 
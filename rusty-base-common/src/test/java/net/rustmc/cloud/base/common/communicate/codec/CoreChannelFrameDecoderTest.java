@@ -0,0 +1,121 @@
+package net.rustmc.cloud.base.common.communicate.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.TooLongFrameException;
+import net.rustmc.cloud.base.util.ByteBufHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class CoreChannelFrameDecoderTest {
+
+    public static void main(String[] args) {
+        split();
+        coalesced();
+        negative();
+        tooLong();
+        System.out.println("CoreChannelFrameDecoderTest passed.");
+    }
+
+    /* a frame which arrives byte by byte, the length prefix included, is only passed on once it is complete */
+    private static void split() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new CoreChannelFrameDecoder());
+        final ByteBuf frame = frame(payload(300));
+        while (frame.isReadable()) {
+            check(channel.readInbound() == null, "a partial frame has been passed on");
+            channel.writeInbound(frame.readRetainedSlice(1));
+        }
+        frame.release();
+        expect(channel, payload(300));
+        check(channel.readInbound() == null, "more than one frame has been passed on");
+        channel.finishAndReleaseAll();
+    }
+
+    /* several frames in one read are all passed on in order */
+    private static void coalesced() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new CoreChannelFrameDecoder());
+        final ByteBuf buf = Unpooled.buffer();
+        buf.writeBytes(frame(payload(1)));
+        buf.writeBytes(frame(payload(200)));
+        buf.writeBytes(frame(payload(0)));
+        channel.writeInbound(buf);
+        expect(channel, payload(1));
+        expect(channel, payload(200));
+        expect(channel, payload(0));
+        check(channel.readInbound() == null, "more than three frames have been passed on");
+        channel.finishAndReleaseAll();
+    }
+
+    /* FF FF FF FF 0F is the complete var int of -1, it must not be taken for an incomplete one */
+    private static void negative() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new CoreChannelFrameDecoder());
+        final ByteBuf buf = Unpooled.buffer();
+        ByteBufHelper.writeVarInt(-1, buf);
+        buf.writeZero(64);
+        fails(channel, buf, CorruptedFrameException.class);
+
+        final EmbeddedChannel other = new EmbeddedChannel(new CoreChannelFrameDecoder());
+        final ByteBuf min = Unpooled.buffer();
+        ByteBufHelper.writeVarInt(Integer.MIN_VALUE, min);
+        fails(other, min, CorruptedFrameException.class);
+
+        final EmbeddedChannel overlong = new EmbeddedChannel(new CoreChannelFrameDecoder());
+        fails(overlong, Unpooled.wrappedBuffer(new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01}), CorruptedFrameException.class);
+    }
+
+    private static void tooLong() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new CoreChannelFrameDecoder());
+        final ByteBuf buf = Unpooled.buffer();
+        ByteBufHelper.writeVarInt(CoreChannelFrameDecoder.MAX_FRAME_LENGTH + 1, buf);
+        fails(channel, buf, TooLongFrameException.class);
+    }
+
+    private static void fails(EmbeddedChannel channel, ByteBuf buf, Class<? extends DecoderException> expected) {
+        try {
+            channel.writeInbound(buf);
+        } catch (DecoderException e) {
+            check(expected.isInstance(e), "expected " + expected.getSimpleName() + " but got " + e);
+            channel.finishAndReleaseAll();
+            return;
+        }
+        throw new AssertionError("the frame has not been rejected, expected " + expected.getSimpleName());
+    }
+
+    private static void expect(EmbeddedChannel channel, byte[] payload) {
+        final ByteBuf frame = channel.readInbound();
+        check(frame != null, "a frame is missing");
+        final byte[] read = new byte[frame.readableBytes()];
+        frame.readBytes(read);
+        frame.release();
+        check(Arrays.equals(read, payload), "the frame has another content");
+    }
+
+    private static ByteBuf frame(byte[] payload) {
+        final ByteBuf buf = Unpooled.buffer();
+        ByteBufHelper.writeVarInt(payload.length, buf);
+        buf.writeBytes(payload);
+        return buf;
+    }
+
+    private static byte[] payload(int length) {
+        final byte[] payload = new byte[length];
+        final byte[] pattern = "rusty".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < length; i++) payload[i] = pattern[i % pattern.length];
+        return payload;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+
+}
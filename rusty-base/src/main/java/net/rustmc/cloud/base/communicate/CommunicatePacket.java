@@ -5,13 +5,29 @@ import io.netty.buffer.ByteBuf;
 /**
  * This class belongs to the rusty-cloud project
  *
+ * @param <T> the packet the other side answers with if this packet is sent as a request, see {@link #getCorrelation()}.
  * @author Alexander Jilge
  * @since 23.10.2022
  */
 public abstract class CommunicatePacket<T extends CommunicatePacket<?>> {
 
+    /* 0 if the packet does not belong to a request, otherwise the request id shifted by one with the lowest bit marking a response */
+    private int correlation;
+
     public abstract void decode(final ByteBuf buf);
 
     public abstract void encode(final ByteBuf buf);
 
+    public final int getCorrelation() {
+        return this.correlation;
+    }
+
+    public final void setCorrelation(int correlation) {
+        this.correlation = correlation;
+    }
+
+    public final boolean isResponse() {
+        return (this.correlation & 1) == 1;
+    }
+
 }
@@ -12,6 +12,8 @@ public interface IChannelBootstrap {
 
     public IChannelBootstrap host(final String host);
 
+    public IChannelBootstrap flushConsolidation(final boolean flushConsolidation);
+
     public ICommunicateBaseChannel open() throws ConnectFailException;
 
 }
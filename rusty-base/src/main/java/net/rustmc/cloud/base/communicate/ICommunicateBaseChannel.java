@@ -1,9 +1,12 @@
 package net.rustmc.cloud.base.communicate;
 
 import io.netty.channel.Channel;
-import io.netty.handler.stream.ChunkedFile;
+import io.netty.channel.ChannelId;
 
 import java.io.File;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -13,11 +16,13 @@ import java.io.File;
  */
 public interface ICommunicateBaseChannel extends ICommunicateChannel {
 
+    public static final long DEFAULT_REQUEST_TIMEOUT = 5000;
+
     public <T extends CommunicatePacket<?>> void dispatch(final T packet);
 
     public ICommunicateBaseHandlerPool getBaseHandlerPool();
 
-    public <T extends CommunicatePacket<?>> void dispatch(final T packet, final String uniqueID);
+    public <T extends CommunicatePacket<?>> void dispatch(final T packet, final ChannelId channelId);
 
     public boolean isClient();
 
@@ -25,6 +30,43 @@ public interface ICommunicateBaseChannel extends ICommunicateChannel {
 
     public void dispatch(Object o);
 
-    public void dispatch(File file, String uniqueID);
+    public <T extends CommunicatePacket<?>> void write(final T packet);
+
+    public <T extends CommunicatePacket<?>> void write(final T packet, final ChannelId channelId);
+
+    public void flush();
+
+    public void flush(final ChannelId channelId);
+
+    public void dispatchBatch(final Collection<? extends CommunicatePacket<?>> packets);
+
+    public void dispatchBatch(final Collection<? extends CommunicatePacket<?>> packets, final ChannelId channelId);
+
+    /**
+     * sends the packet as a request to the server, the future is completed with the response or a timeout.
+     */
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(final CommunicatePacket<T> packet);
+
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(final CommunicatePacket<T> packet, final long timeout, final TimeUnit unit);
+
+    /**
+     * sends the packet as a request to a certain client, the future is completed with the response or a timeout.
+     */
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(final CommunicatePacket<T> packet, final ChannelId channelId);
+
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(final CommunicatePacket<T> packet, final ChannelId channelId, final long timeout, final TimeUnit unit);
+
+    /**
+     * streams the file in checksummed chunks to the destination path on the server.
+     * the future is completed once the server has verified and stored the whole file.
+     */
+    public CompletableFuture<Void> transfer(final File file, final String destination);
+
+    /**
+     * streams the file in checksummed chunks to the destination path on a certain client.
+     * the future is completed once the client has verified and stored the whole file.
+     */
+    public CompletableFuture<Void> transfer(final File file, final String destination, final ChannelId channelId);
+
 }
 
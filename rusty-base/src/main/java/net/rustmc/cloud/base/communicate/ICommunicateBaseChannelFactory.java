@@ -1,9 +1,12 @@
 package net.rustmc.cloud.base.communicate;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelId;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -17,8 +20,17 @@ public interface ICommunicateBaseChannelFactory {
 
     public ICommunicateBaseChannel open(final int port);
 
+    public ICommunicateBaseChannel open(final int port, final String host, final boolean flushConsolidation);
+
+    public ICommunicateBaseChannel open(final int port, final boolean flushConsolidation);
+
     public LinkedHashMap<Integer, ChannelGroup> getGroups();
 
+    /**
+     * @return the active channels of the server with the given local id, indexed by their id.
+     */
+    public Map<ChannelId, Channel> getChannels(final int localID);
+
     public ICommunicateBaseChannel of(final int localID);
 
     public EventLoopGroup getEventLoopGroup(final int localID);
@@ -5,6 +5,7 @@ import io.netty.channel.ChannelHandlerContext;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
 /**
@@ -19,6 +20,11 @@ public interface ICommunicateBaseHandlerPool {
 
     public void subscribe(BiConsumer<ChannelHandlerContext, Object> consumer);
 
+    /**
+     * the filter sees every packet before the handlers, a packet it does not accept is dropped.
+     */
+    public void subscribeFilter(BiPredicate<ChannelHandlerContext, CommunicatePacket<?>> filter);
+
     public void subscribeBootHandler(Consumer<ChannelHandlerContext> handler);
 
     public void subscribeCloseHandler(Consumer<ChannelHandlerContext> handler);
@@ -32,4 +38,6 @@ public interface ICommunicateBaseHandlerPool {
 
     public BiConsumer<ChannelHandlerContext, Object> getHandler();
 
+    public BiPredicate<ChannelHandlerContext, CommunicatePacket<?>> getFilter();
+
 }
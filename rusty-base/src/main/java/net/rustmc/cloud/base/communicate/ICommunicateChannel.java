@@ -1,5 +1,8 @@
 package net.rustmc.cloud.base.communicate;
 
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelId;
+
 import java.net.SocketAddress;
 
 /**
@@ -18,4 +21,16 @@ public interface ICommunicateChannel {
 
     public String getShortID();
 
+    public ChannelId getChannelId();
+
+    /**
+     * @return the netty channel behind this channel, state of a connection can be attached to it.
+     */
+    public Channel origin();
+
+    /**
+     * answers a request received on this channel, the response completes the future of the requesting side.
+     */
+    public void respond(final CommunicatePacket<?> request, final CommunicatePacket<?> response);
+
 }
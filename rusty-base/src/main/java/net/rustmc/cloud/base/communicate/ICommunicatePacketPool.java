@@ -15,4 +15,6 @@ public interface ICommunicatePacketPool {
 
     public char of(final Class<? extends CommunicatePacket> tClass);
 
+    public <T extends CommunicatePacket<?>> T construct(final char identifier);
+
 }
@@ -0,0 +1,42 @@
+package net.rustmc.cloud.base.communicate;
+
+import io.netty.util.Recycler;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@SuppressWarnings("unchecked")
+public abstract class RecyclableCommunicatePacket<T extends RecyclableCommunicatePacket<T>> extends CommunicatePacket<T> {
+
+    private final Recycler.Handle<T> handle;
+
+    /**
+     * used by the packet pool for incoming packets, which are not recycled.
+     */
+    protected RecyclableCommunicatePacket() {
+        this.handle = null;
+    }
+
+    protected RecyclableCommunicatePacket(Recycler.Handle<T> handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * resets the content of the packet before it is handed back to the recycler.
+     */
+    protected abstract void deallocate();
+
+    /**
+     * is called by the encoder once the packet has been written, the packet must not be used afterwards.
+     */
+    public final void recycle() {
+        if (this.handle == null) return;
+        this.setCorrelation(0);
+        this.deallocate();
+        this.handle.recycle((T) this);
+    }
+
+}
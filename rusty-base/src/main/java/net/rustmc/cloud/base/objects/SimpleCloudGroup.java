@@ -19,14 +19,23 @@ public final class SimpleCloudGroup {
     private final boolean proxy;
     private final int version;
     private final int maxPlayersPer;
-    private final int percent = 80;
+    /* the fill ratio of the group in percent from which another service is started */
+    private int percent = 80;
     private final int maxServers;
-    private final int minServers = 0;
-    private final int priority = 0;
-    private final String permission = "null";
+    private int minServers = 0;
+    private int priority = 0;
+    private String permission = "null";
     private final int memory;
     private String allocatedNode = "null";
     private boolean template = true;
+    /* 0 stores the files of the group as they are when they are packed, 1 to 9 deflates them */
+    private int compressionLevel = 0;
+    /* services which are kept prepared on the node, so a new one is available at once, only for template groups */
+    private int warmServices = 0;
+    /* whether the prepared services are already running and only wait for players */
+    private boolean warmProcesses = false;
+    /* the seconds a service gets to stop on its own before it is terminated */
+    private int stopTimeout = 30;
 
     public SimpleCloudGroup(String name, boolean proxy, int version, int maxPlayersPer, int maxServers, int memory, String allocatedNode) {
         this.name = name;
@@ -43,7 +52,11 @@ public final class SimpleCloudGroup {
         this.proxy = proxy;
         this.version = version;
         this.maxPlayersPer = maxPlayersPer;
+        this.percent = percent;
         this.maxServers = maxServers;
+        this.minServers = minServers;
+        this.priority = priority;
+        this.permission = permission;
         this.memory = memory;
         this.allocatedNode = allocatedNode;
         this.template = template;
@@ -62,6 +75,10 @@ public final class SimpleCloudGroup {
                 ", priority=" + priority +
                 ", permission='" + permission + '\'' +
                 ", memory=" + memory +
+                ", compressionLevel=" + compressionLevel +
+                ", warmServices=" + warmServices +
+                ", warmProcesses=" + warmProcesses +
+                ", stopTimeout=" + stopTimeout +
                 '}';
     }
 
@@ -69,7 +86,31 @@ public final class SimpleCloudGroup {
         this.allocatedNode = allocatedNode;
     }
 
+    public void setPercent(int percent) {
+        this.percent = percent;
+    }
+
+    public void setMinServers(int minServers) {
+        this.minServers = minServers;
+    }
+
     public void setTemplate(boolean template) {
         this.template = template;
     }
+
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public void setWarmServices(int warmServices) {
+        this.warmServices = warmServices;
+    }
+
+    public void setWarmProcesses(boolean warmProcesses) {
+        this.warmProcesses = warmProcesses;
+    }
+
+    public void setStopTimeout(int stopTimeout) {
+        this.stopTimeout = stopTimeout;
+    }
 }
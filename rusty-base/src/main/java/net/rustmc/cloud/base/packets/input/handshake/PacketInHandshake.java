@@ -19,22 +19,27 @@ import net.rustmc.cloud.base.util.ByteBufHelper;
 public class PacketInHandshake extends CommunicatePacket<PacketOutHandshake> {
 
     private int nodeKey;
+    /* the token of the last handshake, 0 if the node has just started */
+    private long resumeToken;
 
     public PacketInHandshake() {
     }
 
-    public PacketInHandshake(int nodeKey) {
+    public PacketInHandshake(int nodeKey, long resumeToken) {
         this.nodeKey = nodeKey;
+        this.resumeToken = resumeToken;
     }
 
     @Override
     public void decode(ByteBuf buf) {
         this.nodeKey = buf.readInt();
+        this.resumeToken = buf.readLong();
     }
 
     @Override
     public void encode(ByteBuf buf) {
         buf.writeInt(nodeKey);
+        buf.writeLong(this.resumeToken);
     }
 
 }
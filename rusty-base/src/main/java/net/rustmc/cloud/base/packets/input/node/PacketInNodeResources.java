@@ -0,0 +1,97 @@
+package net.rustmc.cloud.base.packets.input.node;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.PacketIdentifier;
+import net.rustmc.cloud.base.util.ByteBufHelper;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+@PacketIdentifier(identifier = 't')
+public class PacketInNodeResources extends CommunicatePacket<PacketInNodeResources> {
+
+    /* the length prefix of the name and four var ints */
+    private static final int MIN_SAMPLE_SIZE = Integer.BYTES + 4;
+
+    /* a full sample replaces everything the master knows, the others only carry the services which have changed */
+    private boolean full;
+    /* the load average of the last minute in hundredths */
+    private int load;
+    private int processors;
+    /* in megabytes */
+    private int freeMemory;
+    private int totalMemory;
+    /* the memory the node still grants to new services, the free memory of the system also counts the page cache as used */
+    private int availableMemory;
+    /* only sent with a full sample */
+    private String operatingSystem;
+    private Sample[] samples;
+    /* the services which have exited since the last sample */
+    private String[] removed;
+
+    public PacketInNodeResources() {
+    }
+
+    public PacketInNodeResources(boolean full, int load, int processors, int freeMemory, int totalMemory, int availableMemory, String operatingSystem, Sample[] samples, String[] removed) {
+        this.full = full;
+        this.load = load;
+        this.processors = processors;
+        this.freeMemory = freeMemory;
+        this.totalMemory = totalMemory;
+        this.availableMemory = availableMemory;
+        this.operatingSystem = operatingSystem;
+        this.samples = samples;
+        this.removed = removed;
+    }
+
+    @Override
+    public void decode(ByteBuf buf) {
+        this.full = buf.readBoolean();
+        this.load = ByteBufHelper.readVarInt(buf);
+        this.processors = ByteBufHelper.readVarInt(buf);
+        this.freeMemory = ByteBufHelper.readVarInt(buf);
+        this.totalMemory = ByteBufHelper.readVarInt(buf);
+        this.availableMemory = ByteBufHelper.readVarInt(buf);
+        this.operatingSystem = this.full ? ByteBufHelper.readString(buf) : null;
+        this.samples = new Sample[ByteBufHelper.checkCount(ByteBufHelper.readVarInt(buf), MIN_SAMPLE_SIZE, buf)];
+        for (int i = 0; i < this.samples.length; i++) {
+            this.samples[i] = new Sample(ByteBufHelper.readString(buf), ByteBufHelper.readVarInt(buf), ByteBufHelper.readVarInt(buf), ByteBufHelper.readVarInt(buf), ByteBufHelper.readVarInt(buf));
+        }
+        this.removed = ByteBufHelper.readDynamicArray(buf);
+    }
+
+    @Override
+    public void encode(ByteBuf buf) {
+        buf.writeBoolean(this.full);
+        ByteBufHelper.writeVarInt(this.load, buf);
+        ByteBufHelper.writeVarInt(this.processors, buf);
+        ByteBufHelper.writeVarInt(this.freeMemory, buf);
+        ByteBufHelper.writeVarInt(this.totalMemory, buf);
+        ByteBufHelper.writeVarInt(this.availableMemory, buf);
+        if (this.full) ByteBufHelper.write(this.operatingSystem, buf);
+        ByteBufHelper.writeVarInt(this.samples.length, buf);
+        for (Sample sample : this.samples) {
+            ByteBufHelper.write(sample.service(), buf);
+            ByteBufHelper.writeVarInt(sample.cpu(), buf);
+            ByteBufHelper.writeVarInt(sample.memory(), buf);
+            ByteBufHelper.writeVarInt(sample.threads(), buf);
+            ByteBufHelper.writeVarInt(sample.players(), buf);
+        }
+        ByteBufHelper.writeDynamicArray(this.removed, buf);
+    }
+
+    /**
+     * @param cpu     the cpu time of the last interval in thousandths of one core.
+     * @param memory  the resident memory in megabytes.
+     * @param players the players the service reports in its status, 0 until it has answered once.
+     */
+    public record Sample(String service, int cpu, int memory, int threads, int players) {
+    }
+
+}
@@ -0,0 +1,38 @@
+package net.rustmc.cloud.base.packets.input.transfer;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.PacketIdentifier;
+import net.rustmc.cloud.base.util.DirectoryManifest;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+@PacketIdentifier(identifier = 'q')
+public class PacketInGroupManifest extends CommunicatePacket<PacketInGroupManifest> {
+
+    private DirectoryManifest manifest;
+
+    public PacketInGroupManifest() {
+    }
+
+    public PacketInGroupManifest(DirectoryManifest manifest) {
+        this.manifest = manifest;
+    }
+
+    @Override
+    public void decode(ByteBuf buf) {
+        this.manifest = DirectoryManifest.decode(buf);
+    }
+
+    @Override
+    public void encode(ByteBuf buf) {
+        this.manifest.encode(buf);
+    }
+
+}
@@ -0,0 +1,53 @@
+package net.rustmc.cloud.base.packets.input.transfer;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.PacketIdentifier;
+import net.rustmc.cloud.base.packets.output.transfer.PacketOutStaticSave;
+import net.rustmc.cloud.base.util.ByteBufHelper;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+@PacketIdentifier(identifier = 'r')
+public class PacketInStaticSave extends CommunicatePacket<PacketOutStaticSave> {
+
+    private String group;
+    /* the archive with the changed files has been transferred as temp/saves/<service>.zip before */
+    private String service;
+    private boolean archive;
+    /* paths relative to the group directory, which the service has deleted */
+    private String[] removed;
+
+    public PacketInStaticSave() {
+    }
+
+    public PacketInStaticSave(String group, String service, boolean archive, String[] removed) {
+        this.group = group;
+        this.service = service;
+        this.archive = archive;
+        this.removed = removed;
+    }
+
+    @Override
+    public void decode(ByteBuf buf) {
+        this.group = ByteBufHelper.readString(buf);
+        this.service = ByteBufHelper.readString(buf);
+        this.archive = buf.readBoolean();
+        this.removed = ByteBufHelper.readDynamicArray(buf);
+    }
+
+    @Override
+    public void encode(ByteBuf buf) {
+        ByteBufHelper.write(this.group, buf);
+        ByteBufHelper.write(this.service, buf);
+        buf.writeBoolean(this.archive);
+        ByteBufHelper.writeDynamicArray(this.removed, buf);
+    }
+
+}
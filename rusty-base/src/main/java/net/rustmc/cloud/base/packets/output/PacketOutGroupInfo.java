@@ -1,9 +1,10 @@
 package net.rustmc.cloud.base.packets.output;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.Recycler;
 import lombok.Getter;
-import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.PacketIdentifier;
+import net.rustmc.cloud.base.communicate.RecyclableCommunicatePacket;
 import net.rustmc.cloud.base.objects.SimpleCloudGroup;
 import net.rustmc.cloud.base.util.ByteBufHelper;
 
@@ -15,7 +16,14 @@ import net.rustmc.cloud.base.util.ByteBufHelper;
  */
 @Getter
 @PacketIdentifier(identifier = 'h')
-public final class PacketOutGroupInfo extends CommunicatePacket<PacketOutGroupInfo> {
+public final class PacketOutGroupInfo extends RecyclableCommunicatePacket<PacketOutGroupInfo> {
+
+    private static final Recycler<PacketOutGroupInfo> RECYCLER = new Recycler<>() {
+        @Override
+        protected PacketOutGroupInfo newObject(Handle<PacketOutGroupInfo> handle) {
+            return new PacketOutGroupInfo(handle);
+        }
+    };
 
     private SimpleCloudGroup cloudGroup;
 
@@ -26,6 +34,21 @@ public final class PacketOutGroupInfo extends CommunicatePacket<PacketOutGroupIn
         this.cloudGroup = cloudGroup;
     }
 
+    private PacketOutGroupInfo(Recycler.Handle<PacketOutGroupInfo> handle) {
+        super(handle);
+    }
+
+    public static PacketOutGroupInfo of(SimpleCloudGroup cloudGroup) {
+        final PacketOutGroupInfo packet = RECYCLER.get();
+        packet.cloudGroup = cloudGroup;
+        return packet;
+    }
+
+    @Override
+    protected void deallocate() {
+        this.cloudGroup = null;
+    }
+
     @Override
     public void decode(ByteBuf buf) {
         final var name = ByteBufHelper.readString(buf);
@@ -40,6 +63,10 @@ public final class PacketOutGroupInfo extends CommunicatePacket<PacketOutGroupIn
         final int memory = buf.readInt();
         final var allocatedNode = ByteBufHelper.readString(buf);
         final boolean template = buf.readBoolean();
+        final int compressionLevel = buf.readInt();
+        final int warmServices = buf.readInt();
+        final boolean warmProcesses = buf.readBoolean();
+        final int stopTimeout = buf.readInt();
         this.cloudGroup = new SimpleCloudGroup(
                 name,
                 proxy,
@@ -54,6 +81,10 @@ public final class PacketOutGroupInfo extends CommunicatePacket<PacketOutGroupIn
                 allocatedNode,
                 template
         );
+        this.cloudGroup.setCompressionLevel(compressionLevel);
+        this.cloudGroup.setWarmServices(warmServices);
+        this.cloudGroup.setWarmProcesses(warmProcesses);
+        this.cloudGroup.setStopTimeout(stopTimeout);
     }
 
     @Override
@@ -70,6 +101,10 @@ public final class PacketOutGroupInfo extends CommunicatePacket<PacketOutGroupIn
         buf.writeInt(this.cloudGroup.getMemory());
         ByteBufHelper.write("0", buf);
         buf.writeBoolean(this.cloudGroup.isTemplate());
+        buf.writeInt(this.cloudGroup.getCompressionLevel());
+        buf.writeInt(this.cloudGroup.getWarmServices());
+        buf.writeBoolean(this.cloudGroup.isWarmProcesses());
+        buf.writeInt(this.cloudGroup.getStopTimeout());
     }
 
 }
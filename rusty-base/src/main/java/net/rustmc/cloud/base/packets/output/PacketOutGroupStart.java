@@ -5,20 +5,34 @@ import lombok.Getter;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.PacketIdentifier;
 import net.rustmc.cloud.base.objects.PrimitiveGroup;
+import net.rustmc.cloud.base.util.ByteBufHelper;
 
 @Getter
 @PacketIdentifier(identifier = 'i')
 public class PacketOutGroupStart extends CommunicatePacket<PacketOutGroupStart> {
 
     private PrimitiveGroup primitiveGroup;
+    /* the amount of services the node starts additionally */
+    private int amount;
+
+    public PacketOutGroupStart() {
+    }
+
+    public PacketOutGroupStart(String name, boolean template, int amount) {
+        this.primitiveGroup = PrimitiveGroup.group(name, template);
+        this.amount = amount;
+    }
 
     @Override
     public void decode(ByteBuf buf) {
-
+        this.primitiveGroup = PrimitiveGroup.group(ByteBufHelper.readString(buf), buf.readBoolean());
+        this.amount = ByteBufHelper.readVarInt(buf);
     }
 
     @Override
     public void encode(ByteBuf buf) {
-
+        ByteBufHelper.write(this.primitiveGroup.name, buf);
+        buf.writeBoolean(this.primitiveGroup.template);
+        ByteBufHelper.writeVarInt(this.amount, buf);
     }
 }
@@ -1,8 +1,10 @@
 package net.rustmc.cloud.base.packets.output.handshake;
 
 import io.netty.buffer.ByteBuf;
+import lombok.Getter;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.PacketIdentifier;
+import net.rustmc.cloud.base.util.ByteBufHelper;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -10,18 +12,38 @@ import net.rustmc.cloud.base.communicate.PacketIdentifier;
  * @author Alexander Jilge
  * @since 25.10.2022
  */
+@Getter
 @PacketIdentifier(identifier = 'd')
 public final class PacketOutHandshake extends CommunicatePacket<PacketOutHandshake> {
 
+    /* the node sends it with its next handshake, if the connection is lost before */
+    private long resumeToken;
+    /* true if the session of the node has been resumed and its groups were not transferred again */
+    private boolean resumed;
+    /* the groups the master has allocated to the node, every other group it still runs belongs to another node now */
+    private String[] groups;
+
     public PacketOutHandshake() {
     }
 
+    public PacketOutHandshake(long resumeToken, boolean resumed, String[] groups) {
+        this.resumeToken = resumeToken;
+        this.resumed = resumed;
+        this.groups = groups;
+    }
+
     @Override
     public void decode(ByteBuf buf) {
+        this.resumeToken = buf.readLong();
+        this.resumed = buf.readBoolean();
+        this.groups = ByteBufHelper.readDynamicArray(buf);
     }
 
     @Override
     public void encode(ByteBuf buf) {
+        buf.writeLong(this.resumeToken);
+        buf.writeBoolean(this.resumed);
+        ByteBufHelper.writeDynamicArray(this.groups, buf);
     }
 
 }
@@ -1,4 +1,4 @@
-package net.rustmc.cloud.base.packets;
+package net.rustmc.cloud.base.packets.output.node;
 
 import io.netty.buffer.ByteBuf;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
@@ -8,19 +8,21 @@ import net.rustmc.cloud.base.communicate.PacketIdentifier;
  * This class belongs to the rusty-cloud project
  *
  * @author Alexander Jilge
- * @since 16.12.2022
+ * @since 17.10.2026
  */
 @PacketIdentifier(identifier = 'k')
-public class PacketPauseCodec extends CommunicatePacket<PacketPauseCodec> {
+public final class PacketOutHeartbeat extends CommunicatePacket<PacketOutHeartbeat> {
+
+    /* the node answers with an empty heartbeat, the master measures the round trip itself */
+    public PacketOutHeartbeat() {
+    }
 
     @Override
     public void decode(ByteBuf buf) {
-
     }
 
     @Override
     public void encode(ByteBuf buf) {
-
     }
 
 }
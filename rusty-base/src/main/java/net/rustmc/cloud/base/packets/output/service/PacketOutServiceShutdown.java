@@ -1,9 +1,10 @@
 package net.rustmc.cloud.base.packets.output.service;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.Recycler;
 import lombok.Getter;
-import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.PacketIdentifier;
+import net.rustmc.cloud.base.communicate.RecyclableCommunicatePacket;
 import net.rustmc.cloud.base.util.ByteBufHelper;
 
 /**
@@ -14,7 +15,14 @@ import net.rustmc.cloud.base.util.ByteBufHelper;
  */
 @Getter
 @PacketIdentifier(identifier = 'f')
-public class PacketOutServiceShutdown extends CommunicatePacket<PacketOutServiceShutdown> {
+public class PacketOutServiceShutdown extends RecyclableCommunicatePacket<PacketOutServiceShutdown> {
+
+    private static final Recycler<PacketOutServiceShutdown> RECYCLER = new Recycler<>() {
+        @Override
+        protected PacketOutServiceShutdown newObject(Handle<PacketOutServiceShutdown> handle) {
+            return new PacketOutServiceShutdown(handle);
+        }
+    };
 
     private String name;
 
@@ -25,6 +33,21 @@ public class PacketOutServiceShutdown extends CommunicatePacket<PacketOutService
     public PacketOutServiceShutdown() {
     }
 
+    private PacketOutServiceShutdown(Recycler.Handle<PacketOutServiceShutdown> handle) {
+        super(handle);
+    }
+
+    public static PacketOutServiceShutdown of(String name) {
+        final PacketOutServiceShutdown packet = RECYCLER.get();
+        packet.name = name;
+        return packet;
+    }
+
+    @Override
+    protected void deallocate() {
+        this.name = null;
+    }
+
     @Override
     public void decode(ByteBuf buf) {
         this.name = ByteBufHelper.readString(buf);
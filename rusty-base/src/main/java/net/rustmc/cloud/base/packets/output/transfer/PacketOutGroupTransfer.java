@@ -18,22 +18,36 @@ import net.rustmc.cloud.base.util.ByteBufHelper;
 public class PacketOutGroupTransfer extends CommunicatePacket<PacketOutGroupTransfer> {
 
     private PrimitiveGroup primitiveGroup;
+    /* paths relative to the group directory, which no longer exist on the master */
+    private String[] removed;
+    /* only set in the answer of the node, false if the files could not be unpacked */
+    private boolean applied;
 
     public PacketOutGroupTransfer() {
     }
 
-    public PacketOutGroupTransfer(String name, boolean template) {
+    public PacketOutGroupTransfer(String name, boolean template, boolean applied) {
+        this(name, template, new String[0]);
+        this.applied = applied;
+    }
+
+    public PacketOutGroupTransfer(String name, boolean template, String[] removed) {
         this.primitiveGroup = PrimitiveGroup.group(name, template);
+        this.removed = removed;
     }
 
     @Override
     public void decode(ByteBuf buf) {
         this.primitiveGroup = PrimitiveGroup.group(ByteBufHelper.readString(buf), buf.readBoolean());
+        this.removed = ByteBufHelper.readDynamicArray(buf);
+        this.applied = buf.readBoolean();
     }
 
     @Override
     public void encode(ByteBuf buf) {
         ByteBufHelper.write(this.primitiveGroup.name, buf);
         buf.writeBoolean(this.primitiveGroup.template);
+        ByteBufHelper.writeDynamicArray(this.removed, buf);
+        buf.writeBoolean(this.applied);
     }
 }
@@ -0,0 +1,37 @@
+package net.rustmc.cloud.base.packets.output.transfer;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.PacketIdentifier;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+@PacketIdentifier(identifier = 's')
+public class PacketOutStaticSave extends CommunicatePacket<PacketOutStaticSave> {
+
+    private boolean applied;
+
+    public PacketOutStaticSave() {
+    }
+
+    public PacketOutStaticSave(boolean applied) {
+        this.applied = applied;
+    }
+
+    @Override
+    public void decode(ByteBuf buf) {
+        this.applied = buf.readBoolean();
+    }
+
+    @Override
+    public void encode(ByteBuf buf) {
+        buf.writeBoolean(this.applied);
+    }
+
+}
@@ -0,0 +1,50 @@
+package net.rustmc.cloud.base.packets.transfer;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.PacketIdentifier;
+import net.rustmc.cloud.base.util.ByteBufHelper;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+@PacketIdentifier(identifier = 'l')
+public class PacketTransferBegin extends CommunicatePacket<PacketTransferState> {
+
+    private int transferID;
+    private String destination;
+    private long size;
+    private String checksum;
+
+    public PacketTransferBegin() {
+    }
+
+    public PacketTransferBegin(int transferID, String destination, long size, String checksum) {
+        this.transferID = transferID;
+        this.destination = destination;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+    @Override
+    public void decode(ByteBuf buf) {
+        this.transferID = buf.readInt();
+        this.destination = ByteBufHelper.readString(buf);
+        this.size = buf.readLong();
+        this.checksum = ByteBufHelper.readString(buf);
+    }
+
+    @Override
+    public void encode(ByteBuf buf) {
+        buf.writeInt(this.transferID);
+        ByteBufHelper.write(this.destination, buf);
+        buf.writeLong(this.size);
+        ByteBufHelper.write(this.checksum, buf);
+    }
+
+}
@@ -0,0 +1,80 @@
+package net.rustmc.cloud.base.packets.transfer;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import lombok.SneakyThrows;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.PacketIdentifier;
+
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+@PacketIdentifier(identifier = 'm')
+public class PacketTransferChunk extends CommunicatePacket<PacketTransferChunk> {
+
+    private int transferID;
+    private long offset;
+    private int length;
+
+    /* only set on the sending side, the bytes are read from the file straight into the frame */
+    private FileChannel source;
+
+    /* only set on the receiving side, a retained slice of the frame which has to be released by the receiver */
+    private ByteBuf content;
+    private boolean valid;
+
+    public PacketTransferChunk() {
+    }
+
+    public PacketTransferChunk(int transferID, long offset, int length, FileChannel source) {
+        this.transferID = transferID;
+        this.offset = offset;
+        this.length = length;
+        this.source = source;
+    }
+
+    @Override
+    public void decode(ByteBuf buf) {
+        this.transferID = buf.readInt();
+        this.offset = buf.readLong();
+        this.length = buf.readInt();
+        this.content = buf.readRetainedSlice(this.length);
+        this.valid = checksum(this.content, this.content.readerIndex(), this.length) == buf.readInt();
+    }
+
+    @SneakyThrows
+    @Override
+    public void encode(ByteBuf buf) {
+        buf.writeInt(this.transferID);
+        buf.writeLong(this.offset);
+        buf.writeInt(this.length);
+        final int start = buf.writerIndex();
+        int written = 0;
+        while (written < this.length) {
+            final int read = buf.writeBytes(this.source, this.offset + written, this.length - written);
+            if (read < 0) throw new IllegalStateException("The file ended before the chunk at " + this.offset + " was read.");
+            written += read;
+        }
+        buf.writeInt(checksum(buf, start, this.length));
+    }
+
+    private static int checksum(ByteBuf buf, int index, int length) {
+        final CRC32 crc = new CRC32();
+        if (buf.nioBufferCount() == 1) {
+            crc.update(buf.nioBuffer(index, length));
+        } else {
+            for (final var buffer : buf.nioBuffers(index, length)) {
+                crc.update(buffer);
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+}
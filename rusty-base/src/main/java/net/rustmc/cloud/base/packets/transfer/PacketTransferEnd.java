@@ -0,0 +1,37 @@
+package net.rustmc.cloud.base.packets.transfer;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.PacketIdentifier;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+@PacketIdentifier(identifier = 'n')
+public class PacketTransferEnd extends CommunicatePacket<PacketTransferState> {
+
+    private int transferID;
+
+    public PacketTransferEnd() {
+    }
+
+    public PacketTransferEnd(int transferID) {
+        this.transferID = transferID;
+    }
+
+    @Override
+    public void decode(ByteBuf buf) {
+        this.transferID = buf.readInt();
+    }
+
+    @Override
+    public void encode(ByteBuf buf) {
+        buf.writeInt(this.transferID);
+    }
+
+}
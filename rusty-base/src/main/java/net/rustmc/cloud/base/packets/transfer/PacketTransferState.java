@@ -0,0 +1,53 @@
+package net.rustmc.cloud.base.packets.transfer;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.PacketIdentifier;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+@PacketIdentifier(identifier = 'o')
+public class PacketTransferState extends CommunicatePacket<PacketTransferState> {
+
+    private int transferID;
+    private State state;
+    /* the amount of bytes the receiver has already stored, the sender continues from here */
+    private long offset;
+
+    public PacketTransferState() {
+    }
+
+    public PacketTransferState(int transferID, State state, long offset) {
+        this.transferID = transferID;
+        this.state = state;
+        this.offset = offset;
+    }
+
+    @Override
+    public void decode(ByteBuf buf) {
+        this.transferID = buf.readInt();
+        this.state = State.values()[buf.readByte()];
+        this.offset = buf.readLong();
+    }
+
+    @Override
+    public void encode(ByteBuf buf) {
+        buf.writeInt(this.transferID);
+        buf.writeByte(this.state.ordinal());
+        buf.writeLong(this.offset);
+    }
+
+    public static enum State {
+        ACCEPTED,
+        COMPLETE,
+        INCOMPLETE,
+        CORRUPT
+    }
+
+}
@@ -14,4 +14,6 @@ public interface IOnlineService {
 
     public void command(String command);
 
+    public ServiceState getState();
+
 }
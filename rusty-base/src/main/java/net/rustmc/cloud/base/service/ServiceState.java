@@ -0,0 +1,17 @@
+package net.rustmc.cloud.base.service;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public enum ServiceState {
+
+    /* the process runs, but the server does not accept players yet */
+    STARTING,
+    READY,
+    STOPPING,
+    STOPPED
+
+}
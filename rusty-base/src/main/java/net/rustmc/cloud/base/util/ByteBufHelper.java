@@ -1,6 +1,7 @@
 package net.rustmc.cloud.base.util;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 
 import java.nio.charset.StandardCharsets;
 
@@ -12,14 +13,49 @@ import java.nio.charset.StandardCharsets;
  */
 public final class ByteBufHelper {
 
+    public static final int MAX_VAR_INT_LENGTH = 5;
+
+    public static void writeVarInt(int value, ByteBuf buf) {
+        while ((value & ~0x7F) != 0) {
+            buf.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte(value);
+    }
+
+    /**
+     * reads a var int from the buffer.
+     *
+     * @return the value or -1 if the buffer does not contain the complete var int yet.
+     */
+    public static int readVarInt(ByteBuf buf) {
+        int value = 0;
+        for (int i = 0; i < MAX_VAR_INT_LENGTH; i++) {
+            if (!buf.isReadable()) return -1;
+            final byte current = buf.readByte();
+            value |= (current & 0x7F) << (i * 7);
+            if ((current & 0x80) == 0) return value;
+        }
+        throw new IllegalStateException("The var int is longer than " + MAX_VAR_INT_LENGTH + " bytes!");
+    }
+
+    public static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
     public static void write(String input, ByteBuf buf) {
-        buf.writeInt(input.length());
-        buf.writeBytes(input.getBytes(StandardCharsets.UTF_8));
+        buf.writeInt(ByteBufUtil.utf8Bytes(input));
+        ByteBufUtil.writeUtf8(buf, input);
     }
 
     public static String readString(ByteBuf buf) {
         final var l = buf.readInt();
-        return String.valueOf(buf.readBytes(l));
+        return buf.readCharSequence(l, StandardCharsets.UTF_8).toString();
     }
 
     public static void writeDynamicArray(String[] array, ByteBuf buf) {
@@ -30,27 +66,37 @@ public final class ByteBufHelper {
     }
 
     public static String[] readDynamicArray(ByteBuf buf) {
-        final var l = buf.readInt();
+        /* every string takes at least its length prefix */
+        final var l = checkCount(buf.readInt(), Integer.BYTES, buf);
         final var out = new String[l];
-        for (int i = 0; i == l-1; i++) {
+        for (int i = 0; i < l; i++) {
             out[i] = readString(buf);
         }
         return out;
     }
 
+    /**
+     * checks a count the other side has sent against the bytes which are left, so it cannot make the reader
+     * allocate more elements than the frame could hold.
+     *
+     * @param size the least amount of bytes one element takes.
+     * @return the count if it is possible.
+     */
+    public static int checkCount(int count, int size, ByteBuf buf) {
+        if (count < 0 || count > buf.readableBytes() / size)
+            throw new IllegalArgumentException("The buffer claims " + count + " elements in " + buf.readableBytes() + " bytes.");
+        return count;
+    }
+
     public static void writeDynamicByteArray(byte[] array, ByteBuf buf) {
         buf.writeInt(array.length);
-        for (final var s : array) {
-            buf.writeByte(s);
-        }
+        buf.writeBytes(array);
     }
 
     public static byte[] readDynamicByteArray(ByteBuf buf) {
-        final var l = buf.readInt();
+        final var l = checkCount(buf.readInt(), 1, buf);
         final var out = new byte[l];
-        for (int i = 0; i == l-1; i++) {
-            out[i] = buf.readByte();
-        }
+        buf.readBytes(out);
         return out;
     }
 
@@ -0,0 +1,185 @@
+package net.rustmc.cloud.base.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public final class DirectoryManifest {
+
+    /* the int length prefixes of the path and the hash, the size and the modification time */
+    private static final int MIN_ENTRY_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES;
+
+    private final Map<String, Entry> entries;
+
+    public DirectoryManifest() {
+        this(new HashMap<>());
+    }
+
+    private DirectoryManifest(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * hashes every file below the root, files with the same size and modification time as in the previous manifest keep their hash.
+     *
+     * @param previous the last manifest of the same directory or null.
+     */
+    public static DirectoryManifest scan(Path root, DirectoryManifest previous) throws IOException {
+        return scan(root, previous, path -> true);
+    }
+
+    /**
+     * @param filter decides by the relative path whether a file or a whole directory is part of the manifest.
+     */
+    public static DirectoryManifest scan(Path root, DirectoryManifest previous, Predicate<String> filter) throws IOException {
+        final Map<String, Entry> entries = new HashMap<>();
+        if (!Files.isDirectory(root)) return new DirectoryManifest(entries);
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                if (directory.equals(root) || filter.test(relative(root, directory))) return FileVisitResult.CONTINUE;
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                final String path = relative(root, file);
+                if (!filter.test(path)) return FileVisitResult.CONTINUE;
+                final long size = attributes.size();
+                final long modified = attributes.lastModifiedTime().toMillis();
+                final Entry known = previous == null ? null : previous.entries.get(path);
+                if (known != null && known.size() == size && known.modified() == modified)
+                    entries.put(path, known);
+                        else entries.put(path, new Entry(FileHelper.checksum(file.toFile()), size, modified));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return new DirectoryManifest(entries);
+    }
+
+    /**
+     * scans the directory against the manifest stored in the given file and stores the result there again.
+     */
+    public static DirectoryManifest refresh(Path root, File store) throws IOException {
+        return refresh(root, store, path -> true);
+    }
+
+    public static DirectoryManifest refresh(Path root, File store, Predicate<String> filter) throws IOException {
+        final DirectoryManifest manifest = scan(root, load(store), filter);
+        manifest.save(store);
+        return manifest;
+    }
+
+    /**
+     * @return a manifest with only the entries whose path matches the filter.
+     */
+    public DirectoryManifest filter(Predicate<String> filter) {
+        final Map<String, Entry> entries = new HashMap<>();
+        for (final var entry : this.entries.entrySet()) {
+            if (filter.test(entry.getKey())) entries.put(entry.getKey(), entry.getValue());
+        }
+        return new DirectoryManifest(entries);
+    }
+
+    /*
+     * the paths are stored with forward slashes, so the manifests of different systems match.
+     */
+    private static String relative(Path root, Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * @return the paths which are missing or differ in the other manifest.
+     */
+    public List<String> changed(DirectoryManifest other) {
+        final List<String> out = new ArrayList<>();
+        for (final var entry : this.entries.entrySet()) {
+            final Entry known = other.entries.get(entry.getKey());
+            if (known == null || known.size() != entry.getValue().size() || !known.hash().equals(entry.getValue().hash()))
+                out.add(entry.getKey());
+        }
+        return out;
+    }
+
+    /**
+     * @return the paths the other manifest has, but this one does not.
+     */
+    public List<String> removed(DirectoryManifest other) {
+        final List<String> out = new ArrayList<>();
+        for (final String path : other.entries.keySet()) {
+            if (!this.entries.containsKey(path)) out.add(path);
+        }
+        return out;
+    }
+
+    public Map<String, Entry> getEntries() {
+        return Collections.unmodifiableMap(this.entries);
+    }
+
+    public void encode(ByteBuf buf) {
+        buf.writeInt(this.entries.size());
+        for (final var entry : this.entries.entrySet()) {
+            ByteBufHelper.write(entry.getKey(), buf);
+            ByteBufHelper.write(entry.getValue().hash(), buf);
+            buf.writeLong(entry.getValue().size());
+            buf.writeLong(entry.getValue().modified());
+        }
+    }
+
+    public static DirectoryManifest decode(ByteBuf buf) {
+        /* the size comes from the other side, every entry takes at least two int length prefixes and two longs */
+        final int size = ByteBufHelper.checkCount(buf.readInt(), MIN_ENTRY_SIZE, buf);
+        final Map<String, Entry> entries = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            entries.put(ByteBufHelper.readString(buf), new Entry(ByteBufHelper.readString(buf), buf.readLong(), buf.readLong()));
+        }
+        return new DirectoryManifest(entries);
+    }
+
+    /**
+     * @return the stored manifest or null if there is none or it cannot be read.
+     */
+    public static DirectoryManifest load(File file) {
+        if (!file.exists()) return null;
+        try {
+            return decode(Unpooled.wrappedBuffer(Files.readAllBytes(file.toPath())));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public void save(File file) throws IOException {
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            this.encode(buf);
+            if (file.getParentFile() != null) Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), ByteBufUtil.getBytes(buf));
+        } finally {
+            buf.release();
+        }
+    }
+
+    public record Entry(String hash, long size, long modified) {
+    }
+
+}
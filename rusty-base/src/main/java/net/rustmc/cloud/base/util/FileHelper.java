@@ -1,11 +1,30 @@
 package net.rustmc.cloud.base.util;
 
+import io.netty.buffer.ByteBufUtil;
+
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -15,6 +34,9 @@ import java.nio.file.Files;
  */
 public final class FileHelper {
 
+    /* a manifest scan hashes every file, a new direct buffer for each of them would stall on the native memory */
+    private static final ThreadLocal<ByteBuffer> CHECKSUM = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(1024 * 1024));
+
     public static void download(final String destination, final URL url) throws IOException {
         ReadableByteChannel rbc = Channels.newChannel(url.openStream());
         FileOutputStream fos = new FileOutputStream(destination);
@@ -25,33 +47,114 @@ public final class FileHelper {
 
     public static void copyFile(String sourceFile, String destination)
             throws IOException {
-        try (InputStream in = new FileInputStream(sourceFile);
-             OutputStream out = new FileOutputStream(destination)) {
-            byte[] buf = new byte[1024];
-            int length;
-            while ((length = in.read(buf)) > 0) {
-                out.write(buf, 0, length);
+        copyFile(Path.of(sourceFile), Path.of(destination), false);
+    }
+
+    /**
+     * copies the file with transferTo, so the content does not pass through the heap.
+     *
+     * @param link whether a read-only jar is hard linked instead, it is still copied if the file system cannot link it.
+     *             the link shares the inode with the template, so only jars are linked, which a server never writes.
+     */
+    public static void copyFile(Path source, Path destination, boolean link) throws IOException {
+        if (link && linkable(source)) {
+            try {
+                Files.deleteIfExists(destination);
+                Files.createLink(destination, source);
+                return;
+            } catch (UnsupportedOperationException | IOException ignored) {
+            }
+        }
+        try (final FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             final FileChannel out = FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long size = in.size();
+            long position = 0;
+            while (position < size) {
+                final long transferred = in.transferTo(position, size - position, out);
+                /* the file has been truncated in the meantime */
+                if (transferred <= 0) break;
+                position += transferred;
             }
         }
     }
 
     public static void copyDir(File source, String destination) {
-        final var files = source.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isDirectory()) {
-                    copyDir(file, destination + "//" + file.getName());
-                } else {
+        try {
+            copyDir(source.toPath(), Path.of(destination), false, Runnable::run);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * copies the content of the source directory into the destination. the directories are created first,
+     * the files are then copied in parallel on the executor and the method returns once all of them are done.
+     *
+     * @param link whether read-only jars are hard linked instead of copied.
+     */
+    public static void copyDir(Path source, Path destination, boolean link, Executor executor) throws IOException {
+        if (!Files.isDirectory(source)) return;
+        final List<CompletableFuture<Void>> pending = new ArrayList<>();
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                Files.createDirectories(destination.resolve(source.relativize(directory)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                final Path target = destination.resolve(source.relativize(file));
+                pending.add(CompletableFuture.runAsync(() -> {
                     try {
-                        copyFile(file.getPath(), destination + "//" + file.getName());
+                        copyFile(file, target, link);
                     } catch (IOException e) {
-                        throw new RuntimeException(e);
+                        throw new UncheckedIOException(e);
                     }
-                }
+                }, executor));
+                return FileVisitResult.CONTINUE;
             }
+        });
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException exception) throw exception.getCause();
+            throw e;
         }
     }
 
+    /**
+     * deletes the file or the directory with everything in it, a missing file is ignored.
+     */
+    public static void delete(Path path) throws IOException {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) return;
+        Files.walkFileTree(path, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exception) throws IOException {
+                if (exception != null) throw exception;
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /*
+     * a server running as root writes through the permission bits, so they alone do not protect the template.
+     * only jars are linked, worlds and configurations are always copied.
+     */
+    private static boolean linkable(Path file) throws IOException {
+        if (!file.getFileName().toString().endsWith(".jar")) return false;
+        final var view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        if (view == null) return !Files.isWritable(file);
+        return !view.readAttributes().permissions().contains(PosixFilePermission.OWNER_WRITE);
+    }
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     public static File create(final File file) {
         if (!file.exists()) {
@@ -71,6 +174,27 @@ public final class FileHelper {
         return file;
     }
 
+    /**
+     * @return the hex encoded sha-256 hash of the file content.
+     */
+    public static String checksum(File file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer buffer = CHECKSUM.get().clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return ByteBufUtil.hexDump(digest.digest());
+    }
+
     public static void write(File file, String input) {
         try {
             final var outStream = new FileOutputStream(file);
@@ -0,0 +1,84 @@
+package net.rustmc.cloud.base.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public final class LatencyHistogram {
+
+    /*
+     * values below 16 have their own bucket, every power of two above is split into 8 buckets,
+     * so a bucket is at most an eighth wider than its values. the last bucket holds everything above 2^31.
+     */
+    private static final int SUB_BUCKETS = 8;
+    private static final int LINEAR = 16;
+    private static final int BUCKETS = LINEAR + (31 - 4) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long millis) {
+        final long value = Math.max(0, millis);
+        this.buckets.incrementAndGet(index(value));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(value);
+        this.max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     * @return the upper bound of the bucket the percentile falls into.
+     */
+    public long percentile(double percentile) {
+        final long count = this.count.get();
+        if (count == 0) return 0;
+        final long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= Math.max(1, rank)) return Math.min(this.max.get(), upperBound(i));
+        }
+        return this.max.get();
+    }
+
+    private static int index(long value) {
+        if (value < LINEAR) return (int) value;
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return Math.min(BUCKETS - 1, LINEAR + (exponent - 4) * SUB_BUCKETS + sub);
+    }
+
+    private static long upperBound(int index) {
+        if (index < LINEAR) return index;
+        if (index == BUCKETS - 1) return Long.MAX_VALUE;
+        final int exponent = (index - LINEAR) / SUB_BUCKETS + 4;
+        final int sub = (index - LINEAR) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    public long getMean() {
+        final long count = this.count.get();
+        return count == 0 ? 0 : this.sum.get() / count;
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    @Override
+    public String toString() {
+        return "p50=" + this.percentile(50) + "ms, p90=" + this.percentile(90) + "ms, p99=" + this.percentile(99) + "ms, max=" + this.getMax() + "ms, count=" + this.getCount();
+    }
+
+}
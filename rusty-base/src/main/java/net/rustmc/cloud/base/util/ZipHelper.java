@@ -1,17 +1,33 @@
 package net.rustmc.cloud.base.util;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
+import java.util.zip.ZipFile;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -21,58 +37,324 @@ import java.util.zip.ZipOutputStream;
  */
 public class ZipHelper {
 
-    public static void zipFoldersAndFiles(Path sourcesFolderPath, Path zipPath){
-        try {
-            ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(zipPath.toFile()));
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final long ZIP64_LIMIT = 0xFFFFFFFFL;
+    private static final int ZIP64_ENTRY_LIMIT = 0xFFFF;
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+    /* the entry names are utf-8 encoded */
+    private static final int FLAG_UTF8 = 0x0800;
+    /* the buffers are kept per worker, a world with thousands of small files would otherwise allocate one per file */
+    private static final ThreadLocal<ByteBuffer> INPUT = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+    private static final ThreadLocal<ByteBuffer> OUTPUT = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+    private static final ThreadLocal<byte[]> EXTRACT = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
 
-            Files.walkFileTree(sourcesFolderPath, new SimpleFileVisitor<>() {
+    public static void zipFoldersAndFiles(Path sourcesFolderPath, Path zipPath, int level, ExecutorService executor) throws IOException {
+        final List<String> paths = new ArrayList<>();
+        Files.walkFileTree(sourcesFolderPath, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                paths.add(sourcesFolderPath.relativize(file).toString().replace(File.separatorChar, '/'));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        zipFiles(sourcesFolderPath, paths, zipPath, level, executor);
+    }
 
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+    /**
+     * zips only the given files, the paths are relative to the root and stay so inside the zip.
+     */
+    public static void zipFiles(Path root, Collection<String> paths, Path zipPath, int level, ExecutorService executor) throws IOException {
+        checkLevel(level);
+        try (FileChannel out = FileChannel.open(zipPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            zipFiles(root, paths, out, level, executor);
+        }
+    }
 
-                    zipOutputStream.putNextEntry(new ZipEntry(sourcesFolderPath.relativize(file).toString()));
-                    zipOutputStream.setLevel(ZipOutputStream.STORED);
-                    Files.copy(file, zipOutputStream);
-                    zipOutputStream.closeEntry();
-                    return FileVisitResult.CONTINUE;
+    /**
+     * zips the given files into any channel, e.g. a file or a socket.
+     * the entries are compressed in parallel on the executor and written in order as soon as they are ready.
+     *
+     * @param level 0 stores the files as they are, 1 to 9 deflates them with the given level.
+     */
+    public static void zipFiles(Path root, Collection<String> paths, WritableByteChannel out, int level, ExecutorService executor) throws IOException {
+        checkLevel(level);
+        final List<Future<Prepared>> pending = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            pending.add(executor.submit(() -> prepare(root, path, level)));
+        }
+        final List<Written> written = new ArrayList<>(paths.size());
+        long offset = 0;
+        try {
+            for (Future<Prepared> future : pending) {
+                final Prepared entry = await(future);
+                try {
+                    final ByteBuffer header = localHeader(entry);
+                    written.add(new Written(entry, offset));
+                    offset += write(out, header);
+                    offset += copy(entry.data(), entry.compressedSize(), out);
+                } finally {
+                    entry.release();
                 }
-            });
-            zipOutputStream.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            /* entries which are not written anymore still have to release their spool files */
+            for (Future<Prepared> future : pending) {
+                try {
+                    future.get().release();
+                } catch (Exception ignored) {
+                }
+            }
+            throw e;
         }
-        catch (Exception e){
-            e.printStackTrace();
+        final long directory = offset;
+        for (Written entry : written) {
+            offset += write(out, centralHeader(entry));
         }
+        write(out, end(written.size(), directory, offset - directory));
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
-    public static void unzip(String zipFilePath, String destDir) {
-        File dir = new File(destDir);
-        if(!dir.exists()) dir.mkdirs();
-        FileInputStream fis;
-        byte[] buffer = new byte[1024];
+    /**
+     * extracts the zip into the directory, the entries are inflated in parallel on the executor.
+     */
+    public static void unzip(Path zipPath, Path destination, ExecutorService executor) throws IOException {
+        final Path root = destination.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        try (ZipFile zip = new ZipFile(zipPath.toFile(), StandardCharsets.UTF_8)) {
+            final List<Future<Void>> pending = new ArrayList<>();
+            final Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final Path target = root.resolve(entry.getName()).normalize();
+                if (!target.startsWith(root))
+                    throw new IOException("The entry " + entry.getName() + " leaves the destination.");
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+                pending.add(executor.submit(() -> {
+                    extract(zip, entry, target);
+                    return null;
+                }));
+            }
+            for (Future<Void> future : pending) {
+                await(future);
+            }
+        }
+    }
+
+    private static void checkLevel(int level) {
+        if (level < 0 || level > 9)
+            throw new IllegalArgumentException("The compression level has to be between 0 and 9, not " + level + ".");
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
         try {
-            fis = new FileInputStream(zipFilePath);
-            ZipInputStream zis = new ZipInputStream(fis);
-            ZipEntry ze = zis.getNextEntry();
-            while(ze != null){
-                String fileName = ze.getName();
-                File newFile = new File(destDir + File.separator + fileName);
-                new File(newFile.getParent()).mkdirs();
-                FileOutputStream fos = new FileOutputStream(newFile);
-                int len;
-                while ((len = zis.read(buffer)) > 0) {
-                    fos.write(buffer, 0, len);
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException exception) throw exception;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static void extract(ZipFile zip, ZipEntry entry, Path target) throws IOException {
+        if (target.getParent() != null) Files.createDirectories(target.getParent());
+        final byte[] buffer = EXTRACT.get();
+        try (InputStream in = zip.getInputStream(entry);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                final ByteBuffer content = ByteBuffer.wrap(buffer, 0, read);
+                while (content.hasRemaining()) out.write(content);
+            }
+        }
+    }
+
+    /**
+     * computes the checksum and, if wanted, compresses the file into a temporary spool file.
+     */
+    private static Prepared prepare(Path root, String path, int level) throws IOException {
+        final Path file = root.resolve(path);
+        final long size = Files.size(file);
+        final int time = dosTime(Files.getLastModifiedTime(file).toMillis());
+        final byte[] name = path.getBytes(StandardCharsets.UTF_8);
+        final CRC32 crc = new CRC32();
+        final ByteBuffer buffer = INPUT.get().clear();
+        if (level == 0 || size == 0) {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    crc.update(buffer);
+                    buffer.clear();
                 }
-                fos.close();
-                zis.closeEntry();
-                ze = zis.getNextEntry();
             }
-            zis.closeEntry();
-            zis.close();
-            fis.close();
-        } catch (IOException e) {
-            e.printStackTrace();
+            return new Prepared(name, time, METHOD_STORED, crc.getValue(), size, size, file, false);
+        }
+        final Path spool = Files.createTempFile("rusty-zip", ".spool");
+        final Deflater deflater = new Deflater(level, true);
+        final ByteBuffer output = OUTPUT.get();
+        long compressed = 0;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(spool, StandardOpenOption.WRITE)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                /* the deflater keeps the buffer it got, so it gets a view which is not reset by the next read */
+                deflater.setInput(buffer.duplicate());
+                crc.update(buffer);
+                while (!deflater.needsInput()) compressed += drain(deflater, output, out);
+                buffer.clear();
+            }
+            deflater.finish();
+            while (!deflater.finished()) compressed += drain(deflater, output, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        } finally {
+            deflater.end();
         }
+        /* already compressed content like jars does not get smaller, it is stored as it is then */
+        if (compressed >= size) {
+            Files.deleteIfExists(spool);
+            return new Prepared(name, time, METHOD_STORED, crc.getValue(), size, size, file, false);
+        }
+        return new Prepared(name, time, METHOD_DEFLATED, crc.getValue(), compressed, size, spool, true);
+    }
+
+    private static int drain(Deflater deflater, ByteBuffer output, FileChannel out) throws IOException {
+        output.clear();
+        final int length = deflater.deflate(output);
+        output.flip();
+        while (output.hasRemaining()) out.write(output);
+        return length;
+    }
+
+    private static long copy(Path source, long length, WritableByteChannel out) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < length) {
+                final long transferred = in.transferTo(position, length - position, out);
+                if (transferred <= 0 && in.size() <= position)
+                    throw new IOException("The file " + source + " has been changed while it was zipped.");
+                position += transferred;
+            }
+            return position;
+        }
+    }
+
+    private static long write(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        final long length = buffer.remaining();
+        while (buffer.hasRemaining()) out.write(buffer);
+        return length;
+    }
+
+    private static ByteBuffer localHeader(Prepared entry) {
+        final boolean zip64 = entry.size() >= ZIP64_LIMIT || entry.compressedSize() >= ZIP64_LIMIT;
+        final ByteBuffer buffer = ByteBuffer.allocate(30 + entry.name().length + (zip64 ? 20 : 0)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x04034b50);
+        buffer.putShort((short) (zip64 ? 45 : 20));
+        buffer.putShort((short) FLAG_UTF8);
+        buffer.putShort((short) entry.method());
+        buffer.putInt(entry.time());
+        buffer.putInt((int) entry.crc());
+        buffer.putInt((int) (zip64 ? ZIP64_LIMIT : entry.compressedSize()));
+        buffer.putInt((int) (zip64 ? ZIP64_LIMIT : entry.size()));
+        buffer.putShort((short) entry.name().length);
+        buffer.putShort((short) (zip64 ? 20 : 0));
+        buffer.put(entry.name());
+        if (zip64) {
+            buffer.putShort((short) 0x0001);
+            buffer.putShort((short) 16);
+            buffer.putLong(entry.size());
+            buffer.putLong(entry.compressedSize());
+        }
+        return buffer.flip();
+    }
+
+    private static ByteBuffer centralHeader(Written written) {
+        final Prepared entry = written.entry();
+        final boolean zip64 = entry.size() >= ZIP64_LIMIT || entry.compressedSize() >= ZIP64_LIMIT || written.offset() >= ZIP64_LIMIT;
+        final ByteBuffer buffer = ByteBuffer.allocate(46 + entry.name().length + (zip64 ? 28 : 0)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x02014b50);
+        buffer.putShort((short) 45);
+        buffer.putShort((short) (zip64 ? 45 : 20));
+        buffer.putShort((short) FLAG_UTF8);
+        buffer.putShort((short) entry.method());
+        buffer.putInt(entry.time());
+        buffer.putInt((int) entry.crc());
+        buffer.putInt((int) (zip64 ? ZIP64_LIMIT : entry.compressedSize()));
+        buffer.putInt((int) (zip64 ? ZIP64_LIMIT : entry.size()));
+        buffer.putShort((short) entry.name().length);
+        buffer.putShort((short) (zip64 ? 28 : 0));
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.putInt(0);
+        buffer.putInt((int) (zip64 ? ZIP64_LIMIT : written.offset()));
+        buffer.put(entry.name());
+        if (zip64) {
+            buffer.putShort((short) 0x0001);
+            buffer.putShort((short) 24);
+            buffer.putLong(entry.size());
+            buffer.putLong(entry.compressedSize());
+            buffer.putLong(written.offset());
+        }
+        return buffer.flip();
+    }
+
+    private static ByteBuffer end(int entries, long directory, long directorySize) {
+        final boolean zip64 = entries >= ZIP64_ENTRY_LIMIT || directory >= ZIP64_LIMIT || directorySize >= ZIP64_LIMIT;
+        final ByteBuffer buffer = ByteBuffer.allocate(22 + (zip64 ? 56 + 20 : 0)).order(ByteOrder.LITTLE_ENDIAN);
+        if (zip64) {
+            final long record = directory + directorySize;
+            buffer.putInt(0x06064b50);
+            buffer.putLong(44);
+            buffer.putShort((short) 45);
+            buffer.putShort((short) 45);
+            buffer.putInt(0);
+            buffer.putInt(0);
+            buffer.putLong(entries);
+            buffer.putLong(entries);
+            buffer.putLong(directorySize);
+            buffer.putLong(directory);
+            buffer.putInt(0x07064b50);
+            buffer.putInt(0);
+            buffer.putLong(record);
+            buffer.putInt(1);
+        }
+        buffer.putInt(0x06054b50);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) (zip64 ? ZIP64_ENTRY_LIMIT : entries));
+        buffer.putShort((short) (zip64 ? ZIP64_ENTRY_LIMIT : entries));
+        buffer.putInt((int) (zip64 ? ZIP64_LIMIT : directorySize));
+        buffer.putInt((int) (zip64 ? ZIP64_LIMIT : directory));
+        buffer.putShort((short) 0);
+        return buffer.flip();
+    }
+
+    private static int dosTime(long millis) {
+        final LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) return (1 << 21) | (1 << 16);
+        return (time.getYear() - 1980) << 25
+                | time.getMonthValue() << 21
+                | time.getDayOfMonth() << 16
+                | time.getHour() << 11
+                | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+    private record Prepared(byte[] name, int time, int method, long crc, long compressedSize, long size, Path data, boolean spooled) {
+
+        private void release() throws IOException {
+            if (this.spooled) Files.deleteIfExists(this.data);
+        }
+
+    }
 
+    private record Written(Prepared entry, long offset) {
     }
 
 }
@@ -1,12 +1,13 @@
 package net.rustmc.cloud.master;
 
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import net.rustmc.cloud.api.commands.CommandManager;
 import net.rustmc.cloud.api.commands.listeners.ConsoleInputListener;
 import net.rustmc.cloud.api.commands.listeners.ConsoleTabListener;
 import net.rustmc.cloud.base.common.Rust;
-import net.rustmc.cloud.base.common.communicate.CommunicationFuturePromise;
 import net.rustmc.cloud.base.common.packets.ConstantPacketRegistryCluster;
 import net.rustmc.cloud.base.communicate.ConnectFailException;
 import net.rustmc.cloud.base.communicate.IChannelBootstrap;
@@ -16,23 +17,33 @@ import net.rustmc.cloud.base.util.FileHelper;
 import net.rustmc.cloud.master.commands.CloseCommand;
 import net.rustmc.cloud.master.commands.InfoCommand;
 import net.rustmc.cloud.master.commands.ProduceCommand;
+import net.rustmc.cloud.master.common.groups.DefaultAutoScalerImpl;
+import net.rustmc.cloud.master.common.groups.DefaultGroupPlacementImpl;
 import net.rustmc.cloud.master.common.groups.GroupTerminalImpl;
 import net.rustmc.cloud.master.common.modules.DefaultInstanceLoaderImpl;
 import net.rustmc.cloud.master.common.nodes.CloudOfflineNodeTerminalImpl;
 import net.rustmc.cloud.master.common.nodes.CloudOnlineNodeTerminalImpl;
+import net.rustmc.cloud.master.common.nodes.DefaultHeartbeatMonitorImpl;
 import net.rustmc.cloud.master.configurations.CloudBaseConfiguration;
 import net.rustmc.cloud.master.configurations.CloudGroupConfiguration;
+import net.rustmc.cloud.master.groups.IAutoScaler;
+import net.rustmc.cloud.master.groups.IGroupPlacement;
 import net.rustmc.cloud.master.groups.IGroupTerminal;
 import net.rustmc.cloud.master.handlers.NodeConnectHandler;
 import net.rustmc.cloud.master.handlers.NodeDisconnectHandler;
 import net.rustmc.cloud.master.handlers.PacketInNodeDisconnectHandler;
+import net.rustmc.cloud.master.handlers.PacketInNodeResourcesHandler;
+import net.rustmc.cloud.master.handlers.PacketInStaticSaveHandler;
 import net.rustmc.cloud.master.modules.IInstanceLoader;
+import net.rustmc.cloud.master.nodes.IHeartbeatMonitor;
 import net.rustmc.cloud.master.nodes.IOfflineNodeTerminal;
 import net.rustmc.cloud.master.nodes.IOnlineNodeTerminal;
 
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -63,10 +74,19 @@ public final class RustCloud {
     private final CloudBaseConfiguration baseCloudConfiguration = Rust.getInstance()
             .getConfigurationHandler()
             .open(new File("base.json").toURI(), CloudBaseConfiguration.class);
+    /* compares and transfers the groups of connecting nodes, so the event loops and the asynchronous thread stay free */
+    private final ExecutorService restoreExecutor = Executors.newFixedThreadPool(this.baseCloudConfiguration.getRestoreThreads() > 0
+            ? this.baseCloudConfiguration.getRestoreThreads()
+            : Runtime.getRuntime().availableProcessors(), new DefaultThreadFactory("rusty-restore", true));
     private ICommunicateBaseChannel communicateChannel;
     private final IOfflineNodeTerminal offlineNodeTerminal = new CloudOfflineNodeTerminalImpl();
     private final IOnlineNodeTerminal onlineNodeTerminal = new CloudOnlineNodeTerminalImpl();
     private final IGroupTerminal groupTerminal = new GroupTerminalImpl();
+    private final IAutoScaler autoScaler = new DefaultAutoScalerImpl(this.baseCloudConfiguration);
+    private final IHeartbeatMonitor heartbeatMonitor = new DefaultHeartbeatMonitorImpl(this.baseCloudConfiguration);
+    /* modules may replace the placement with their own */
+    @Setter
+    private IGroupPlacement groupPlacement = new DefaultGroupPlacementImpl(IGroupPlacement.Strategy.valueOf(this.baseCloudConfiguration.getPlacementStrategy().toUpperCase(Locale.ROOT)));
 
     @SuppressWarnings("DataFlowIssue")
     public RustCloud() throws MalformedURLException, URISyntaxException {
@@ -170,13 +190,17 @@ public final class RustCloud {
                     .getChannelFactory()
                     .bootstrap()
                     .port(this.baseCloudConfiguration.getPort())
+                    .flushConsolidation(this.baseCloudConfiguration.isFlushConsolidation())
                     .open();
 
-            CommunicationFuturePromise.subscribe(communicateChannel);
-
             new NodeConnectHandler();
             new NodeDisconnectHandler();
             new PacketInNodeDisconnectHandler();
+            new PacketInStaticSaveHandler();
+            new PacketInNodeResourcesHandler();
+
+            this.autoScaler.start();
+            this.heartbeatMonitor.start();
 
             this.getCloudConsole().send("cloud channel succesfully opened on port §a" + this.baseCloudConfiguration.getPort() + "§r.");
 
@@ -189,6 +213,9 @@ public final class RustCloud {
     }
 
     public void onShutdown() {
+        this.autoScaler.close();
+        this.heartbeatMonitor.close();
+        this.restoreExecutor.shutdownNow();
         this.getCloudConsole().close();
         Rust.getInstance().getChannelFactory().close();
         Rust.getInstance().getConfigurationHandler().close();
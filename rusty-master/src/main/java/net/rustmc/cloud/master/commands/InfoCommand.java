@@ -2,10 +2,12 @@ package net.rustmc.cloud.master.commands;
 
 import net.rustmc.cloud.api.commands.Command;
 import net.rustmc.cloud.master.RustCloud;
+import net.rustmc.cloud.master.nodes.IOnlineNode;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -25,6 +27,12 @@ public class InfoCommand extends Command {
             if (args[1].equals("pool")) {
                 RustCloud.getCloud().getCloudConsole().send("connected nodes: §e" + RustCloud.getCloud().getOnlineNodeTerminal().size() + "§r.");
                 RustCloud.getCloud().getCloudConsole().send("offline nodes: §e" + RustCloud.getCloud().getOfflineNodeTerminal().size() + "§r.");
+                for (IOnlineNode node : RustCloud.getCloud().getOnlineNodeTerminal().getOnlineNodes()) {
+                    final var heartbeat = node.getHeartbeat();
+                    RustCloud.getCloud().getCloudConsole().send("- §a" + node.configuration().getName() + " §r(latency: §e"
+                            + (heartbeat.getLatency() < 0 ? "unknown" : String.format(Locale.ROOT, "%.1fms", heartbeat.getAverageLatency()))
+                            + "§r, missed heartbeats: §e" + heartbeat.getMisses() + "§r)");
+                }
             }
         }
     }
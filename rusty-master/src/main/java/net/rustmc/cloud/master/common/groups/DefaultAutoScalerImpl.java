@@ -0,0 +1,154 @@
+package net.rustmc.cloud.master.common.groups;
+
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.objects.SimpleCloudGroup;
+import net.rustmc.cloud.base.packets.input.node.PacketInNodeResources;
+import net.rustmc.cloud.base.packets.output.PacketOutGroupStart;
+import net.rustmc.cloud.base.packets.output.service.PacketOutServiceShutdown;
+import net.rustmc.cloud.master.RustCloud;
+import net.rustmc.cloud.master.configurations.CloudBaseConfiguration;
+import net.rustmc.cloud.master.groups.IAutoScaler;
+import net.rustmc.cloud.master.groups.ICloudGroup;
+import net.rustmc.cloud.master.nodes.IOnlineNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class DefaultAutoScalerImpl implements IAutoScaler {
+
+    private static final int DEFAULT_PERCENT = 80;
+    /* the decisions in a row a group has to be above or below its threshold, so a single peak does not scale it */
+    private static final int UP_DECISIONS = 2;
+    private static final int DOWN_DECISIONS = 6;
+    /* a requested service counts as running until it shows up in the samples or this time has passed */
+    private static final long START_GRACE = TimeUnit.SECONDS.toMillis(120);
+    private static final long STOP_GRACE = TimeUnit.SECONDS.toMillis(60);
+
+    private final int interval;
+    private final long upCooldown;
+    private final long downCooldown;
+    private final int hysteresis;
+    /* only touched by the decisions, which run on the single asynchronous thread */
+    private final Map<String, State> states = new HashMap<>();
+    private ScheduledFuture<?> task;
+
+    public DefaultAutoScalerImpl(CloudBaseConfiguration configuration) {
+        this.interval = configuration.getAutoscalerInterval();
+        this.upCooldown = TimeUnit.SECONDS.toMillis(configuration.getScaleUpCooldown());
+        this.downCooldown = TimeUnit.SECONDS.toMillis(configuration.getScaleDownCooldown());
+        this.hysteresis = configuration.getScaleHysteresis();
+    }
+
+    @Override
+    public void start() {
+        if (this.interval <= 0 || this.task != null) return;
+        this.task = Rust.getInstance().getAsynchronousExecutor().scheduleWithFixedDelay(this::evaluate, this.interval, this.interval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void evaluate() {
+        final long now = System.currentTimeMillis();
+        for (ICloudGroup group : List.copyOf(RustCloud.getCloud().getGroupTerminal().getCloudGroups())) {
+            final SimpleCloudGroup object = group.getObject();
+            final IOnlineNode node = RustCloud.getCloud().getOnlineNodeTerminal().getByName(object.getAllocatedNode());
+            /* the services of a static group all save into the same directory, so it is never scaled */
+            if (!object.isTemplate() || node == null || node.getResources().getUpdated() == 0 || object.getMaxPlayersPer() <= 0) {
+                this.states.remove(object.getName());
+                continue;
+            }
+            this.evaluate(object, node, this.states.computeIfAbsent(object.getName(), name -> new State()), now);
+        }
+    }
+
+    /*
+     * the group gets another service once its fill ratio reaches the percent of the group.
+     * a service is only stopped if it is empty and the others would still stay below the percent minus the hysteresis,
+     * otherwise the next player would start it again at once.
+     */
+    private void evaluate(SimpleCloudGroup object, IOnlineNode node, State state, long now) {
+        final List<PacketInNodeResources.Sample> services = new ArrayList<>();
+        for (PacketInNodeResources.Sample sample : node.getResources().getServices().values()) {
+            if (isService(object.getName(), sample.service()) && !state.stopping.containsKey(sample.service()))
+                services.add(sample);
+        }
+        state.stopping.values().removeIf(until -> until < now);
+        state.stopping.keySet().retainAll(node.getResources().getServices().keySet());
+        if (state.expected <= services.size() || state.expectedUntil < now) state.expected = 0;
+        final int count = Math.max(services.size(), state.expected);
+        final int players = services.stream().mapToInt(PacketInNodeResources.Sample::players).sum();
+        final int percent = object.getPercent() > 0 ? object.getPercent() : DEFAULT_PERCENT;
+        final int maxServers = object.getMaxServers() > 0 ? object.getMaxServers() : Integer.MAX_VALUE;
+        final double fill = count == 0 ? (players > 0 ? 1 : 0) : players / (double) (count * object.getMaxPlayersPer());
+
+        state.up = fill * 100 >= percent && count < maxServers ? state.up + 1 : 0;
+        if (state.up >= UP_DECISIONS && now - state.lastUp >= this.upCooldown) {
+            node.dispatch(new PacketOutGroupStart(object.getName(), object.isTemplate(), 1));
+            RustCloud.getCloud().getCloudConsole().send("the §a" + object.getName() + " §rgroup is filled to §a" + Math.round(fill * 100) + "% §rand gets another service.");
+            state.expected = count + 1;
+            state.expectedUntil = now + START_GRACE;
+            state.lastUp = now;
+            state.up = 0;
+            state.down = 0;
+            return;
+        }
+
+        PacketInNodeResources.Sample idle = null;
+        for (PacketInNodeResources.Sample sample : services) {
+            if (sample.players() == 0 && (idle == null || id(sample.service()) > id(idle.service()))) idle = sample;
+        }
+        final double remaining = count <= 1 ? (players > 0 ? 1 : 0) : players / (double) ((count - 1) * object.getMaxPlayersPer());
+        final boolean shrink = idle != null && state.expected == 0 && count > object.getMinServers() && remaining * 100 < percent - this.hysteresis;
+        state.down = shrink ? state.down + 1 : 0;
+        if (state.down >= DOWN_DECISIONS && now - Math.max(state.lastUp, state.lastDown) >= this.downCooldown) {
+            node.dispatch(PacketOutServiceShutdown.of(idle.service()));
+            RustCloud.getCloud().getCloudConsole().send("the §e" + idle.service() + " §rservice is idle and is stopped.");
+            state.stopping.put(idle.service(), now + STOP_GRACE);
+            state.lastDown = now;
+            state.down = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.task != null) this.task.cancel(false);
+    }
+
+    /*
+     * the services of a group are named after it with their id.
+     */
+    private static boolean isService(String group, String service) {
+        return service.length() > group.length() + 1 && service.startsWith(group + "-")
+                && service.substring(group.length() + 1).chars().allMatch(Character::isDigit);
+    }
+
+    private static int id(String service) {
+        try {
+            return Integer.parseInt(service.substring(service.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class State {
+
+        private final Map<String, Long> stopping = new HashMap<>();
+        private int up;
+        private int down;
+        private int expected;
+        private long expectedUntil;
+        private long lastUp;
+        private long lastDown;
+
+    }
+
+}
@@ -0,0 +1,135 @@
+package net.rustmc.cloud.master.common.groups;
+
+import net.rustmc.cloud.master.RustCloud;
+import net.rustmc.cloud.master.groups.IGroupPlacement;
+import net.rustmc.cloud.master.nodes.IOfflineNode;
+import net.rustmc.cloud.master.nodes.IOnlineNode;
+import net.rustmc.cloud.master.nodes.NodeResources;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class DefaultGroupPlacementImpl implements IGroupPlacement {
+
+    /* a node whose load has reached this share of its processors gets no further groups */
+    private static final double LOAD_LIMIT = 0.9;
+
+    private final Strategy strategy;
+
+    public DefaultGroupPlacementImpl(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public String place(Demand demand) {
+        return this.placeAll(List.of(demand)).get(demand.group());
+    }
+
+    /*
+     * the biggest groups are placed first, so the small ones do not take the room on the only node which would fit them.
+     * offline nodes are only used if no online node fits, their capacity is only known by their group limit.
+     */
+    @Override
+    public Map<String, String> placeAll(Collection<Demand> demands) {
+        final var terminal = RustCloud.getCloud().getGroupTerminal();
+        final List<Candidate> online = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        for (IOnlineNode node : RustCloud.getCloud().getOnlineNodeTerminal().getOnlineNodes()) {
+            online.add(new Candidate(node, terminal.getCloudGroupsByNode(node.configuration().getName()).size(), node.getResources()));
+            names.add(node.configuration().getName());
+        }
+        final List<Candidate> offline = new ArrayList<>();
+        for (IOfflineNode node : RustCloud.getCloud().getOfflineNodeTerminal().getOfflineNodes()) {
+            if (names.contains(node.configuration().getName())) continue;
+            offline.add(new Candidate(node, terminal.getCloudGroupsByNode(node.configuration().getName()).size(), null));
+        }
+
+        final List<Demand> sorted = new ArrayList<>(demands);
+        sorted.sort(Comparator.comparingInt(Demand::memory).reversed());
+        final Map<String, String> out = new LinkedHashMap<>();
+        for (Demand demand : sorted) {
+            Candidate best = this.best(online, demand);
+            if (best == null) best = this.best(offline, demand);
+            if (best == null) continue;
+            best.assign(demand);
+            out.put(demand.group(), best.name);
+        }
+        return out;
+    }
+
+    private Candidate best(List<Candidate> candidates, Demand demand) {
+        Candidate best = null;
+        double score = Double.NEGATIVE_INFINITY;
+        for (Candidate candidate : candidates) {
+            if (!candidate.fits(demand)) continue;
+            final double current = candidate.score(demand, this.strategy);
+            if (current > score || (current == score && candidate.groups < best.groups)) {
+                best = candidate;
+                score = current;
+            }
+        }
+        return best;
+    }
+
+    private static final class Candidate {
+
+        private final String name;
+        private final int maxGroups;
+        /* false while the node has not sent a sample, then only the group limit is known */
+        private final boolean known;
+        private final int totalMemory;
+        private final int processors;
+        private final double load;
+        private int groups;
+        /* what the node still grants to services, the free memory of the system would count its page cache as used */
+        private int availableMemory;
+
+        private Candidate(IOfflineNode node, int groups, NodeResources resources) {
+            this.name = node.configuration().getName();
+            this.maxGroups = node.configuration().getMaxGroups();
+            this.groups = groups;
+            this.known = resources != null && resources.getUpdated() != 0 && resources.getTotalMemory() > 0;
+            this.totalMemory = this.known ? resources.getTotalMemory() : 0;
+            this.availableMemory = this.known ? resources.getAvailableMemory() : 0;
+            this.processors = this.known ? Math.max(1, resources.getProcessors()) : 1;
+            this.load = this.known ? resources.getLoad() : 0;
+        }
+
+        private boolean fits(Demand demand) {
+            if (this.maxGroups > 0 && this.groups >= this.maxGroups) return false;
+            return !this.known || (this.availableMemory >= demand.memory() && this.load < this.processors * LOAD_LIMIT);
+        }
+
+        /**
+         * every part of the score is between 0 and 1, the strategy decides which direction is better.
+         */
+        private double score(Demand demand, Strategy strategy) {
+            final double memory = this.known ? Math.min(1, (this.availableMemory - demand.memory()) / (double) this.totalMemory) : 0.5;
+            final double cpu = this.known ? 1 - Math.min(1, this.load / this.processors) : 0.5;
+            final double spread = this.maxGroups > 0 ? 1 - this.groups / (double) this.maxGroups : 1 / (1d + this.groups);
+            return switch (strategy) {
+                case SPREAD -> 0.4 * memory + 0.3 * cpu + 0.3 * spread;
+                case PACK -> 0.5 * (1 - memory) + 0.3 * (1 - spread) + 0.2 * cpu;
+            };
+        }
+
+        private void assign(Demand demand) {
+            this.groups++;
+            this.availableMemory -= demand.memory();
+        }
+
+    }
+
+}
@@ -3,20 +3,32 @@ package net.rustmc.cloud.master.common.groups;
 import net.rustmc.cloud.base.common.Rust;
 import net.rustmc.cloud.base.console.ICloudConsole;
 import net.rustmc.cloud.base.objects.SimpleCloudGroup;
-import net.rustmc.cloud.base.packets.PacketPauseCodec;
+import net.rustmc.cloud.base.packets.output.PacketOutGroupInfo;
+import net.rustmc.cloud.base.packets.output.transfer.PacketOutGroupManifest;
 import net.rustmc.cloud.base.packets.output.transfer.PacketOutGroupTransfer;
+import net.rustmc.cloud.base.util.DirectoryManifest;
 import net.rustmc.cloud.base.util.FileHelper;
 import net.rustmc.cloud.base.util.ZipHelper;
 import net.rustmc.cloud.master.RustCloud;
 import net.rustmc.cloud.master.configurations.CloudGroupConfiguration;
 import net.rustmc.cloud.master.groups.ICloudGroup;
+import net.rustmc.cloud.master.groups.IGroupListener;
+import net.rustmc.cloud.master.groups.IGroupPlacement;
 import net.rustmc.cloud.master.groups.IGroupTerminal;
+import net.rustmc.cloud.master.nodes.IOnlineNode;
 
 import java.io.File;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -27,109 +39,267 @@ import java.util.concurrent.TimeUnit;
  */
 public class GroupTerminalImpl implements IGroupTerminal {
 
-    private final List<ICloudGroup> groups = new ArrayList<>();
-    private final Random random = new Random();
+    private static final String UNALLOCATED = "null";
+
+    /* the indexes are read without a lock, changes hold it so the indexes and the snapshot stay consistent */
+    private final ConcurrentHashMap<String, ICloudGroup> byName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<ICloudGroup>> byNode = new ConcurrentHashMap<>();
+    private final List<IGroupListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+    /* the groups which are synced right now, true if the group has been requested again in the meantime */
+    private final Map<String, Boolean> syncing = new HashMap<>();
+    private volatile List<ICloudGroup> snapshot = List.of();
 
     @Override
     public void register(File file) {
         final var object = Rust.getInstance()
                 .getConfigurationHandler()
                 .open(file.getName().replace("json", ""), file.toURI(), CloudGroupConfiguration.class);
-        this.groups.add(new SimpleCloudGroupImpl(object.cloudGroup()));
+        this.add(new SimpleCloudGroupImpl(object.cloudGroup()));
+    }
+
+    private void add(ICloudGroup group) {
+        synchronized (this.lock) {
+            final ICloudGroup previous = this.byName.put(group.getObject().getName(), group);
+            if (previous != null) this.unindex(previous, previous.getObject().getAllocatedNode());
+            this.byNode.computeIfAbsent(group.getObject().getAllocatedNode(), node -> ConcurrentHashMap.newKeySet()).add(group);
+            this.snapshot = List.copyOf(this.byName.values());
+        }
+        for (IGroupListener listener : this.listeners) {
+            listener.onRegister(group);
+        }
+    }
+
+    private void unindex(ICloudGroup group, String node) {
+        this.byNode.computeIfPresent(node, (ignored, groups) -> {
+            groups.remove(group);
+            return groups.isEmpty() ? null : groups;
+        });
+    }
+
+    @Override
+    public void setAllocatedNode(ICloudGroup group, String node) {
+        final String previous;
+        synchronized (this.lock) {
+            previous = group.getObject().getAllocatedNode();
+            if (previous.equals(node)) return;
+            group.getObject().setAllocatedNode(node);
+            if (this.byName.get(group.getObject().getName()) == group) {
+                this.unindex(group, previous);
+                this.byNode.computeIfAbsent(node, ignored -> ConcurrentHashMap.newKeySet()).add(group);
+            }
+        }
+        for (IGroupListener listener : this.listeners) {
+            listener.onAllocate(group, previous);
+        }
     }
 
     @Override
     public Collection<ICloudGroup> getUnallocatedGroups() {
-        return groups.stream().filter(iCloudGroup -> iCloudGroup.getObject().getAllocatedNode().equals("null")).toList();
+        return this.getCloudGroupsByNode(UNALLOCATED);
+    }
+
+    @Override
+    public List<ICloudGroup> getCloudGroupsByNode(String node) {
+        final Set<ICloudGroup> groups = node == null ? null : this.byNode.get(node);
+        return groups == null ? List.of() : List.copyOf(groups);
     }
 
     @Override
     public ICloudGroup getCloudGroupByName(String name) {
-        for (ICloudGroup group : this.groups) {
-            if (group.getObject().getName().equals(name)) return group;
-        }
-        return null;
+        return name == null ? null : this.byName.get(name);
+    }
+
+    @Override
+    public void subscribe(IGroupListener listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void unsubscribe(IGroupListener listener) {
+        this.listeners.remove(listener);
     }
 
     @Override
     public ICloudGroup produce(String name, boolean proxy, int maxPlayersPer, int percent, int maxServers, int memory, String allocatedNode) {
         String node = allocatedNode;
         if (node.equals("null")) {
-            if (RustCloud.getCloud().getOnlineNodeTerminal().size() == 0) {
-                if (RustCloud.getCloud().getOfflineNodeTerminal().getOfflineNodes().size() == 0) {
-                    RustCloud.getCloud().getCloudConsole().send("no available node could be found!", ICloudConsole.Output.ERROR);
-                    return null;
-                } else {
-                    node = RustCloud.getCloud()
-                            .getOfflineNodeTerminal()
-                            .getOfflineNodes()
-                            .get(this.random.nextInt(RustCloud.getCloud()
-                                    .getOfflineNodeTerminal()
-                                    .size()))
-                            .configuration()
-                            .getName();
-                }
-            } else {
-                node = RustCloud.getCloud()
-                        .getOnlineNodeTerminal()
-                        .getOnlineNodes()
-                        .get(this.random.nextInt(RustCloud.getCloud()
-                                .getOnlineNodeTerminal()
-                                .size()))
-                        .configuration()
-                        .getName();
-            }
-        } else {
-            if (RustCloud.getCloud()
-                    .getOfflineNodeTerminal()
-                    .getOfflineNodes()
-                    .stream()
-                    .filter(offlineNode -> offlineNode
-                            .configuration()
-                            .getName()
-                            .equals(allocatedNode))
-                    .toList()
-                    .isEmpty()) {
-                RustCloud.getCloud()
-                        .getCloudConsole()
-                        .send("The specified node could not be found!", ICloudConsole.Output.ERROR);
+            node = RustCloud.getCloud().getGroupPlacement().place(new IGroupPlacement.Demand(name, memory));
+            if (node == null) {
+                RustCloud.getCloud().getCloudConsole().send("no available node could be found!", ICloudConsole.Output.ERROR);
                 return null;
             }
+        } else if (RustCloud.getCloud().getOfflineNodeTerminal().getOfflineNodeByName(allocatedNode) == null) {
+            RustCloud.getCloud()
+                    .getCloudConsole()
+                    .send("The specified node could not be found!", ICloudConsole.Output.ERROR);
+            return null;
         }
         final var object = new SimpleCloudGroup(name, proxy, 19, maxPlayersPer, maxServers, memory, node);
+        object.setPercent(percent);
         final var file = new File("groups//" + name + ".json");
         final var content = new File(object.isTemplate() ? "templates//" + object.getName() : "statics//" + object.getName());
         FileHelper.create(content);
         Rust.getInstance().getConfigurationHandler().open(name, file.toURI(), new CloudGroupConfiguration(object));
         final var out = new SimpleCloudGroupImpl(object);
-        this.groups.add(out);
+        this.add(out);
         this.requestTransfer(out);
         return out;
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @Override
+    public int allocate(Collection<ICloudGroup> groups) {
+        if (groups.isEmpty()) return 0;
+        final var placed = RustCloud.getCloud().getGroupPlacement().placeAll(groups.stream().map(group -> IGroupPlacement.Demand.of(group.getObject())).toList());
+        for (ICloudGroup group : groups) {
+            final var node = placed.get(group.getObject().getName());
+            if (node == null) {
+                RustCloud.getCloud().getCloudConsole().send("no node has enough capacity left for the §e" + group.getObject().getName() + " §rgroup.", ICloudConsole.Output.WARN);
+                continue;
+            }
+            this.setAllocatedNode(group, node);
+            this.requestTransfer(group);
+        }
+        Rust.getInstance().getConfigurationHandler().update();
+        return placed.size();
+    }
+
+    @Override
+    public int reallocate(String node) {
+        final var groups = List.copyOf(this.getCloudGroupsByNode(node));
+        if (groups.isEmpty()) return 0;
+        final var placed = RustCloud.getCloud().getGroupPlacement().placeAll(groups.stream().map(group -> IGroupPlacement.Demand.of(group.getObject())).toList());
+        int moved = 0;
+        for (ICloudGroup group : groups) {
+            final var target = placed.get(group.getObject().getName());
+            /* an offline node would not run the group either */
+            if (target == null || target.equals(node) || RustCloud.getCloud().getOnlineNodeTerminal().getByName(target) == null) {
+                RustCloud.getCloud().getCloudConsole().send("no online node has enough capacity left for the §e" + group.getObject().getName() + " §rgroup.", ICloudConsole.Output.WARN);
+                continue;
+            }
+            this.setAllocatedNode(group, target);
+            this.requestTransfer(group);
+            moved++;
+        }
+        if (moved != 0) Rust.getInstance().getConfigurationHandler().update();
+        return moved;
+    }
+
+    /**
+     * asks the node for the manifest of the group directory and only transfers the files which are missing or differ.
+     * only one sync of a group runs at a time, a request during it syncs the group once more afterwards.
+     */
     @Override
     public void requestTransfer(ICloudGroup group) {
-        final File transfer = new File("temp//" + group.getObject().getName() + ".zip").toPath().toFile();
-        ZipHelper.zipFoldersAndFiles(
-                new File( (group.getObject().isTemplate() ? "templates" : "statics") + "//" + group.getObject().getName()).toPath(),
-                transfer.toPath()
-        );
-        Rust.getInstance().getAsynchronousExecutor().schedule(() -> {
-            final var node = RustCloud.getCloud().getOnlineNodeTerminal().getByName(group.getObject().getAllocatedNode());
-            if (node !=  null) {
-                node.dispatch(new PacketPauseCodec());
-                node.dispatch(transfer);
-                node.dispatch(new PacketOutGroupTransfer(group.getObject().getName(), group.getObject().isTemplate()));
-                RustCloud.getCloud().getCloudConsole().send("the data from the §a" + group.getObject().getName() + " §rgroup is transmitted to §a" + group.getObject().getAllocatedNode() + "§r.");
+        final var name = group.getObject().getName();
+        synchronized (this.syncing) {
+            if (this.syncing.containsKey(name)) {
+                this.syncing.put(name, true);
+                return;
+            }
+            this.syncing.put(name, false);
+        }
+        this.sync(group);
+    }
+
+    /*
+     * the archive and the manifests have one path per group, so a second sync must not start before the first is done.
+     */
+    private void sync(ICloudGroup group) {
+        try {
+            CompletableFuture.supplyAsync(() -> this.synchronize(group), RustCloud.getCloud().getRestoreExecutor())
+                    .thenCompose(future -> future)
+                    .whenComplete((ignored, throwable) -> this.synced(group));
+        } catch (RejectedExecutionException e) {
+            synchronized (this.syncing) {
+                this.syncing.remove(group.getObject().getName());
             }
+        }
+    }
+
+    private void synced(ICloudGroup group) {
+        final boolean again;
+        synchronized (this.syncing) {
+            again = Boolean.TRUE.equals(this.syncing.remove(group.getObject().getName()));
+            if (again) this.syncing.put(group.getObject().getName(), false);
+        }
+        if (again) this.sync(group);
+    }
+
+    private CompletableFuture<Void> synchronize(ICloudGroup group) {
+        final var node = RustCloud.getCloud().getOnlineNodeTerminal().getByName(group.getObject().getAllocatedNode());
+        if (node == null) return CompletableFuture.completedFuture(null);
+        return node.request(new PacketOutGroupManifest(group.getObject().getName(), group.getObject().isTemplate())).thenApplyAsync(remote -> this.synchronize(group, node, remote.getManifest()), RustCloud.getCloud().getRestoreExecutor())
+                .<CompletableFuture<Void>>handle((future, throwable) -> {
+                    if (throwable == null) return future;
+                    RustCloud.getCloud().getCloudConsole().send("the manifest of the §c" + group.getObject().getName() + " §rgroup could not be requested from §c" + group.getObject().getAllocatedNode() + "§r.", ICloudConsole.Output.ERROR);
+                    return CompletableFuture.completedFuture(null);
+                })
+                .thenCompose(future -> future);
+    }
+
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private CompletableFuture<Void> synchronize(ICloudGroup group, IOnlineNode node, DirectoryManifest remote) {
+        final var name = group.getObject().getName();
+        final var kind = group.getObject().isTemplate() ? "templates" : "statics";
+        final var root = Path.of(kind, name);
+        final DirectoryManifest local;
+        try {
+            local = DirectoryManifest.refresh(root, new File("temp//manifests//" + kind + "-" + name + ".manifest"));
+        } catch (IOException e) {
+            RustCloud.getCloud().getCloudConsole().send("the manifest of the §c" + name + " §rgroup could not be created.", ICloudConsole.Output.ERROR);
+            return CompletableFuture.completedFuture(null);
+        }
+        final var changed = local.changed(remote);
+        /* files of static groups are also changed by their services, so only templates are cleaned up */
+        final var removed = group.getObject().isTemplate() ? local.removed(remote) : List.<String>of();
+        if (changed.isEmpty() && removed.isEmpty()) {
+            RustCloud.getCloud().getCloudConsole().send("the §a" + name + " §rgroup is already up to date on §a" + group.getObject().getAllocatedNode() + "§r.");
+            node.dispatch(PacketOutGroupInfo.of(group.getObject()));
+            return CompletableFuture.completedFuture(null);
+        }
+        final var packet = new PacketOutGroupTransfer(name, group.getObject().isTemplate(), removed.toArray(String[]::new));
+        if (changed.isEmpty()) return this.apply(group, node, packet);
+        final File transfer = new File("temp//" + name + ".zip");
+        try {
+            ZipHelper.zipFiles(root, changed, transfer.toPath(), group.getObject().getCompressionLevel(), Rust.getInstance().getWorkerExecutor());
+        } catch (IOException e) {
             transfer.delete();
-        }, 500, TimeUnit.MILLISECONDS);
+            RustCloud.getCloud().getCloudConsole().send("the data from the §c" + name + " §rgroup could not be packed.", ICloudConsole.Output.ERROR);
+            return CompletableFuture.completedFuture(null);
+        }
+        return node.transfer(transfer, "temp//" + name + ".zip").<CompletableFuture<Void>>handle((ignored, throwable) -> {
+            transfer.delete();
+            if (throwable != null) {
+                RustCloud.getCloud().getCloudConsole().send("the data from the §c" + name + " §rgroup could not be transmitted to §c" + group.getObject().getAllocatedNode() + "§r.");
+                return CompletableFuture.completedFuture(null);
+            }
+            RustCloud.getCloud().getCloudConsole().send("§a" + changed.size() + " §rchanged files of the §a" + name + " §rgroup are transmitted to §a" + group.getObject().getAllocatedNode() + "§r.");
+            return this.apply(group, node, packet);
+        }).thenCompose(future -> future);
+    }
+
+    /*
+     * the node starts the group once it knows it, so the group info only follows once the node has unpacked the files.
+     */
+    private CompletableFuture<Void> apply(ICloudGroup group, IOnlineNode node, PacketOutGroupTransfer packet) {
+        return node.request(packet, 2, TimeUnit.MINUTES).handle((response, throwable) -> {
+            if (throwable != null || !response.isApplied()) {
+                RustCloud.getCloud().getCloudConsole().send("the §c" + group.getObject().getName() + " §rgroup could not be applied on §c" + group.getObject().getAllocatedNode()
+                        + " §r(§c" + (throwable != null ? throwable.getClass().getSimpleName() : "the node could not unpack the files") + "§r), it is not started there.", ICloudConsole.Output.ERROR);
+                return null;
+            }
+            node.dispatch(PacketOutGroupInfo.of(group.getObject()));
+            return null;
+        });
     }
 
+    /**
+     * @return an immutable snapshot, which does not change while it is iterated.
+     */
     @Override
     public List<ICloudGroup> getCloudGroups() {
-        return this.groups;
+        return this.snapshot;
     }
 
 }
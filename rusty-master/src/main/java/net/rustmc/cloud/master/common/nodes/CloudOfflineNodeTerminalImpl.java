@@ -7,10 +7,9 @@ import net.rustmc.cloud.master.nodes.IOfflineNodeTerminal;
 import net.rustmc.cloud.master.nodes.IOfflineNode;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -20,7 +19,10 @@ import java.util.Random;
  */
 public class CloudOfflineNodeTerminalImpl implements IOfflineNodeTerminal {
 
-    private final List<IOfflineNode> offlineNodes = new ArrayList<>();
+    private final ConcurrentHashMap<String, IOfflineNode> byName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, IOfflineNode> byNodeKey = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private volatile List<IOfflineNode> snapshot = List.of();
     private final Random random = new Random();
 
     @Override
@@ -34,48 +36,61 @@ public class CloudOfflineNodeTerminalImpl implements IOfflineNodeTerminal {
                             CloudNodeConfiguration.class
                     );
             final SimpleOfflineNode offlineNode = new SimpleOfflineNode(configuration, file);
-            this.offlineNodes.add(offlineNode);
+            this.register(offlineNode);
             return offlineNode;
         } else return null;
     }
 
+    private void register(IOfflineNode node) {
+        synchronized (this.lock) {
+            final IOfflineNode previous = this.byName.put(node.configuration().getName(), node);
+            if (previous != null) this.byNodeKey.remove(previous.configuration().getNodeKey(), previous);
+            this.byNodeKey.put(node.configuration().getNodeKey(), node);
+            this.snapshot = List.copyOf(this.byName.values());
+        }
+    }
+
     @Override
     public IOfflineNode getOfflineNodeByName(String name) {
-        for (IOfflineNode node : this.offlineNodes) {
-            if (node.configuration().getName().equals(name))
-                return node;
-        }
-        return null;
+        return name == null ? null : this.byName.get(name);
     }
 
     @Override
     public IOfflineNode getOfflineNodeByNodeKey(int nodeKey) {
-        for (IOfflineNode node : this.offlineNodes) {
-            if (node.configuration().getNodeKey()  == nodeKey)
-                return node;
-        }
-        return null;
+        return this.byNodeKey.get(nodeKey);
     }
 
+    /**
+     * the node is registered at once, so it can connect without a restart of the master.
+     */
     @SuppressWarnings("ResultOfMethodCallIgnored")
     @SneakyThrows
     @Override
     public IOfflineNode newOfflineNode(String name, int maxGroups) {
-        final CloudNodeConfiguration configuration = new CloudNodeConfiguration(name, maxGroups, random.nextInt());
+        int nodeKey;
+        do {
+            nodeKey = this.random.nextInt();
+        } while (nodeKey == -1 || this.byNodeKey.containsKey(nodeKey));
+        final CloudNodeConfiguration configuration = new CloudNodeConfiguration(name, maxGroups, nodeKey);
         final File file = new File("nodes//" + name + ".json");
         file.createNewFile();
         Rust.getInstance().getConfigurationHandler().open(name, file.toURI(), configuration);
-        return new SimpleOfflineNode(configuration, file);
+        final SimpleOfflineNode offlineNode = new SimpleOfflineNode(configuration, file);
+        this.register(offlineNode);
+        return offlineNode;
     }
 
+    /**
+     * @return an immutable snapshot, which does not change while it is iterated.
+     */
     @Override
     public List<IOfflineNode> getOfflineNodes() {
-        return this.offlineNodes;
+        return this.snapshot;
     }
 
     @Override
     public int size() {
-        return this.offlineNodes.size();
+        return this.snapshot.size();
     }
 
 }
@@ -5,8 +5,9 @@ import net.rustmc.cloud.master.nodes.IOfflineNode;
 import net.rustmc.cloud.master.nodes.IOnlineNode;
 import net.rustmc.cloud.master.nodes.IOnlineNodeTerminal;
 
-import java.util.ArrayList;
+import java.security.SecureRandom;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -16,58 +17,95 @@ import java.util.List;
  */
 public class CloudOnlineNodeTerminalImpl implements IOnlineNodeTerminal {
 
-    private final List<IOnlineNode> nodes = new ArrayList<>();
+    /* the indexes are read without a lock, changes hold it so the indexes and the snapshot stay consistent */
+    private final ConcurrentHashMap<String, IOnlineNode> byName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, IOnlineNode> byNodeKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, IOnlineNode> byUniqueID = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private volatile List<IOnlineNode> snapshot = List.of();
+    /* outlives the connections, a node resumes with the token of its last handshake */
+    private final ConcurrentHashMap<String, Long> resumeTokens = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
 
+    /**
+     * a node which connects again before its old channel was closed replaces its old entry.
+     */
     @Override
     public void open(IOfflineNode offlineNode, ICommunicateChannel communicateChannel) {
-        this.nodes.add(new OnlineNodeImpl(offlineNode, communicateChannel));
+        final IOnlineNode node = new OnlineNodeImpl(offlineNode, communicateChannel);
+        synchronized (this.lock) {
+            final IOnlineNode previous = this.byName.put(node.configuration().getName(), node);
+            if (previous != null) this.unindex(previous);
+            this.byNodeKey.put(node.configuration().getNodeKey(), node);
+            this.byUniqueID.put(communicateChannel.getUniqueID(), node);
+            this.snapshot = List.copyOf(this.byName.values());
+        }
     }
 
     @Override
     public IOnlineNode getByName(String name) {
-        for (IOnlineNode node : this.nodes) {
-            if (node.configuration().getName().equals(name)) return node;
-        }
-        return null;
+        return name == null ? null : this.byName.get(name);
     }
 
     @Override
     public IOnlineNode getByNodeKey(int nodeKey) {
-        for (IOnlineNode node : this.nodes) {
-            if (node.configuration().getNodeKey() == nodeKey) return node;
-        }
-        return null;
+        return this.byNodeKey.get(nodeKey);
     }
 
     @Override
     public IOnlineNode getByUniqueID(String uniqueID) {
-        for (IOnlineNode node : this.nodes) {
-            if (node.getNodeCommunicateChannel().getUniqueID().equals(uniqueID)) return node;
-        }
-        return null;
+        return uniqueID == null ? null : this.byUniqueID.get(uniqueID);
     }
 
     @Override
     public void remove(String name) {
-        int pos = 0;
-        for (int i = 0; i < this.nodes.size(); i++) {
-            final var node = this.nodes.get(i);
-            if (node.configuration().getName().equals(name)) {
-                pos = i;
-                break;
-            }
+        synchronized (this.lock) {
+            final IOnlineNode node = this.byName.remove(name);
+            if (node == null) return;
+            this.unindex(node);
+            this.snapshot = List.copyOf(this.byName.values());
         }
-        this.nodes.remove(pos);
+    }
+
+    /*
+     * the other indexes may already point to a newer connection of the node.
+     */
+    private void unindex(IOnlineNode node) {
+        this.byNodeKey.remove(node.configuration().getNodeKey(), node);
+        this.byUniqueID.remove(node.getNodeCommunicateChannel().getUniqueID(), node);
     }
 
     @Override
     public int size() {
-        return this.nodes.size();
+        return this.snapshot.size();
     }
 
+    /**
+     * @return an immutable snapshot, which does not change while it is iterated.
+     */
     @Override
     public List<IOnlineNode> getOnlineNodes() {
-        return this.nodes;
+        return this.snapshot;
+    }
+
+    @Override
+    public long issueResumeToken(String name) {
+        long token;
+        do {
+            token = this.random.nextLong();
+        } while (token == 0);
+        this.resumeTokens.put(name, token);
+        return token;
+    }
+
+    @Override
+    public boolean resume(String name, long token) {
+        return token != 0 && this.resumeTokens.remove(name, token);
+    }
+
+    @Override
+    public void invalidateResumeToken(String name) {
+        if (name != null) this.resumeTokens.remove(name);
     }
 
 }
@@ -0,0 +1,78 @@
+package net.rustmc.cloud.master.common.nodes;
+
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.console.ICloudConsole;
+import net.rustmc.cloud.base.packets.output.node.PacketOutHeartbeat;
+import net.rustmc.cloud.master.RustCloud;
+import net.rustmc.cloud.master.configurations.CloudBaseConfiguration;
+import net.rustmc.cloud.master.nodes.IHeartbeatMonitor;
+import net.rustmc.cloud.master.nodes.IOnlineNode;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class DefaultHeartbeatMonitorImpl implements IHeartbeatMonitor {
+
+    private final int interval;
+    private final int misses;
+    private ScheduledFuture<?> task;
+
+    public DefaultHeartbeatMonitorImpl(CloudBaseConfiguration configuration) {
+        this.interval = configuration.getHeartbeatInterval();
+        this.misses = Math.max(1, configuration.getHeartbeatMisses());
+    }
+
+    @Override
+    public void start() {
+        if (this.interval <= 0 || this.task != null) return;
+        this.task = Rust.getInstance().getAsynchronousExecutor().scheduleWithFixedDelay(this::beat, this.interval, this.interval, TimeUnit.SECONDS);
+    }
+
+    /*
+     * a half open connection never fires channelInactive, so a node only counts as alive while it answers.
+     * the round trip is taken where the answer arrives, the result is then handled on the asynchronous thread.
+     */
+    private void beat() {
+        for (IOnlineNode node : RustCloud.getCloud().getOnlineNodeTerminal().getOnlineNodes()) {
+            final long sent = System.nanoTime();
+            node.request(new PacketOutHeartbeat(), this.interval, TimeUnit.SECONDS)
+                    .handle((answer, throwable) -> throwable == null ? System.nanoTime() - sent : -1L)
+                    .thenAcceptAsync(nanos -> {
+                        /* the node has disconnected or connected again in the meantime */
+                        if (RustCloud.getCloud().getOnlineNodeTerminal().getByName(node.configuration().getName()) != node) return;
+                        if (nanos >= 0) {
+                            node.getHeartbeat().answer(nanos);
+                            return;
+                        }
+                        final int missed = node.getHeartbeat().miss();
+                        if (missed >= this.misses) this.fail(node);
+                        else RustCloud.getCloud().getCloudConsole().send("the §e" + node.configuration().getName() + " §rnode has not answered §e" + missed + " §rof §e" + this.misses + " §rheartbeats.", ICloudConsole.Output.WARN);
+                    }, Rust.getInstance().getAsynchronousExecutor());
+        }
+    }
+
+    @Override
+    public void fail(IOnlineNode node) {
+        final var name = node.configuration().getName();
+        RustCloud.getCloud().getCloudConsole().send("the §c" + name + " §rnode does not answer anymore and is declared dead.", ICloudConsole.Output.ERROR);
+        /* its groups are moved, so the node must not resume them when it comes back */
+        RustCloud.getCloud().getOnlineNodeTerminal().invalidateResumeToken(name);
+        node.close();
+        final var groups = RustCloud.getCloud().getGroupTerminal().getCloudGroupsByNode(name).size();
+        if (groups == 0) return;
+        final int moved = RustCloud.getCloud().getGroupTerminal().reallocate(name);
+        RustCloud.getCloud().getCloudConsole().send("§a" + moved + " §rof §a" + groups + " §rgroups of the §c" + name + " §rnode have been moved to other nodes.");
+    }
+
+    @Override
+    public void close() {
+        if (this.task != null) this.task.cancel(false);
+    }
+
+}
@@ -1,6 +1,5 @@
 package net.rustmc.cloud.master.common.nodes;
 
-import io.netty.handler.stream.ChunkedFile;
 import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.ICommunicateChannel;
 import net.rustmc.cloud.master.RustCloud;
@@ -8,11 +7,15 @@ import net.rustmc.cloud.master.configurations.CloudNodeConfiguration;
 import net.rustmc.cloud.master.groups.ICloudGroup;
 import net.rustmc.cloud.master.nodes.IOfflineNode;
 import net.rustmc.cloud.master.nodes.IOnlineNode;
+import net.rustmc.cloud.master.nodes.NodeHeartbeat;
+import net.rustmc.cloud.master.nodes.NodeResources;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -24,16 +27,30 @@ public class OnlineNodeImpl implements IOnlineNode {
 
     private final IOfflineNode offlineNode;
     private final ICommunicateChannel channel;
-    private final HashMap<String, Object> storage = new HashMap<>();
+    /* written by the event loop of the node, read by everything else */
+    private final ConcurrentHashMap<String, Object> storage = new ConcurrentHashMap<>();
+    private final NodeResources resources = new NodeResources();
+    private final NodeHeartbeat heartbeat = new NodeHeartbeat();
 
     public OnlineNodeImpl(IOfflineNode offlineNode, ICommunicateChannel channel) {
         this.offlineNode = offlineNode;
         this.channel = channel;
+        this.storage.put(NodeRequest.REMOTE_RESOURCES.name(), this.resources);
     }
 
     @Override
     public IOnlineNode request(NodeRequest nodeRequest) {
-        return null;
+        return this;
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(CommunicatePacket<T> packet) {
+        return RustCloud.getCloud().getCommunicateChannel().request(packet, this.channel.getChannelId());
+    }
+
+    @Override
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(CommunicatePacket<T> packet, long timeout, TimeUnit unit) {
+        return RustCloud.getCloud().getCommunicateChannel().request(packet, this.channel.getChannelId(), timeout, unit);
     }
 
     @Override
@@ -48,17 +65,28 @@ public class OnlineNodeImpl implements IOnlineNode {
     }
 
     @Override
-    public IOnlineNode dispatch(File file) {
-        RustCloud.getCloud().getCommunicateChannel().dispatch(file, this.channel.getUniqueID());
+    public IOnlineNode dispatch(CommunicatePacket<?> communicatePacket) {
+        RustCloud.getCloud().getCommunicateChannel().dispatch(communicatePacket, this.channel.getChannelId());
         return this;
     }
 
     @Override
-    public IOnlineNode dispatch(CommunicatePacket<?> communicatePacket) {
-        RustCloud.getCloud().getCommunicateChannel().dispatch(communicatePacket, this.channel.getUniqueID());
+    public IOnlineNode write(CommunicatePacket<?> communicatePacket) {
+        RustCloud.getCloud().getCommunicateChannel().write(communicatePacket, this.channel.getChannelId());
+        return this;
+    }
+
+    @Override
+    public IOnlineNode flush() {
+        RustCloud.getCloud().getCommunicateChannel().flush(this.channel.getChannelId());
         return this;
     }
 
+    @Override
+    public CompletableFuture<Void> transfer(File file, String destination) {
+        return RustCloud.getCloud().getCommunicateChannel().transfer(file, destination, this.channel.getChannelId());
+    }
+
     @Override
     public Object get(NodeRequest nodeRequest) {
         return this.storage.get(nodeRequest.name());
@@ -66,7 +94,7 @@ public class OnlineNodeImpl implements IOnlineNode {
 
     @Override
     public Object getWithRequestBefore(NodeRequest nodeRequest) {
-        return null;
+        return this.request(nodeRequest).get(nodeRequest);
     }
 
     @Override
@@ -79,6 +107,16 @@ public class OnlineNodeImpl implements IOnlineNode {
         this.storage.put(k, v);
     }
 
+    @Override
+    public NodeResources getResources() {
+        return this.resources;
+    }
+
+    @Override
+    public NodeHeartbeat getHeartbeat() {
+        return this.heartbeat;
+    }
+
     @Override
     public File file() {
         return this.offlineNode.file();
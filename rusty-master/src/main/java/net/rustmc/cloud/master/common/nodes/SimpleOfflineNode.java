@@ -7,7 +7,6 @@ import net.rustmc.cloud.master.groups.ICloudGroup;
 import net.rustmc.cloud.master.nodes.IOfflineNode;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -20,14 +19,6 @@ import java.util.function.Predicate;
 public record SimpleOfflineNode(CloudNodeConfiguration configuration, File file) implements IOfflineNode {
     @Override
     public List<ICloudGroup> getAllocatedGroups() {
-        return new ArrayList<>(
-                RustCloud.getCloud()
-                        .getGroupTerminal()
-                        .getCloudGroups().stream().filter(group -> group.getObject()
-                                .getAllocatedNode()
-                                .equals(
-                                        SimpleOfflineNode.this.configuration.getName()
-                                )).toList()
-        );
+        return RustCloud.getCloud().getGroupTerminal().getCloudGroupsByNode(this.configuration.getName());
     }
 }
@@ -19,5 +19,32 @@ public class CloudBaseConfiguration implements CloudConfiguration {
     private String host = "127.0.0.1";
     @ConfigurationProperty(name = "cloud.channel.port")
     private int port = 2000;
+    @ConfigurationProperty(name = "cloud.channel.flush-consolidation")
+    private boolean flushConsolidation = false;
+    /* the seconds a client has to send its handshake before it is closed */
+    @ConfigurationProperty(name = "cloud.channel.handshake-timeout")
+    private int handshakeTimeout = 10;
+    /* the threads which restore the groups of connected nodes, 0 uses one per processor */
+    @ConfigurationProperty(name = "cloud.channel.restore-threads")
+    private int restoreThreads = 0;
+    /* the seconds between two heartbeats, 0 disables them */
+    @ConfigurationProperty(name = "cloud.heartbeat.interval")
+    private int heartbeatInterval = 5;
+    /* the heartbeats in a row a node may miss before it is declared dead and its groups are moved */
+    @ConfigurationProperty(name = "cloud.heartbeat.misses")
+    private int heartbeatMisses = 3;
+    /* spread or pack, see IGroupPlacement.Strategy */
+    @ConfigurationProperty(name = "cloud.placement.strategy")
+    private String placementStrategy = "spread";
+    /* the seconds between two decisions of the autoscaler, 0 disables it */
+    @ConfigurationProperty(name = "cloud.autoscaler.interval")
+    private int autoscalerInterval = 5;
+    @ConfigurationProperty(name = "cloud.autoscaler.scale-up-cooldown")
+    private int scaleUpCooldown = 30;
+    @ConfigurationProperty(name = "cloud.autoscaler.scale-down-cooldown")
+    private int scaleDownCooldown = 120;
+    /* a service is only stopped once the fill ratio without it stays this many percent below the start threshold */
+    @ConfigurationProperty(name = "cloud.autoscaler.hysteresis")
+    private int scaleHysteresis = 20;
 
 }
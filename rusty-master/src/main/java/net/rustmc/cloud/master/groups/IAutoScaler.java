@@ -0,0 +1,23 @@
+package net.rustmc.cloud.master.groups;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public interface IAutoScaler {
+
+    /**
+     * decides in the configured interval whether a group needs another service or can give one up.
+     */
+    public void start();
+
+    /**
+     * makes one decision for every group at once.
+     */
+    public void evaluate();
+
+    public void close();
+
+}
@@ -0,0 +1,25 @@
+package net.rustmc.cloud.master.groups;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public interface IGroupListener {
+
+    /**
+     * called once the group is known to the terminal, it may replace a group with the same name.
+     */
+    public default void onRegister(ICloudGroup group) {
+    }
+
+    /**
+     * called once the group has been moved to another node.
+     *
+     * @param previous the node the group was allocated to before, "null" if it had none.
+     */
+    public default void onAllocate(ICloudGroup group, String previous) {
+    }
+
+}
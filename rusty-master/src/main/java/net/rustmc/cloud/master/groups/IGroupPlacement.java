@@ -0,0 +1,46 @@
+package net.rustmc.cloud.master.groups;
+
+import net.rustmc.cloud.base.objects.SimpleCloudGroup;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public interface IGroupPlacement {
+
+    /**
+     * @return the name of the node the group should be allocated to or null if no node has enough capacity left.
+     */
+    public String place(Demand demand);
+
+    /**
+     * places the groups in one pass, every placement already counts for the ones after it.
+     *
+     * @return the node of every group which could be placed, by the name of the group.
+     */
+    public Map<String, String> placeAll(Collection<Demand> demands);
+
+    /**
+     * @param memory the memory in megabytes the group needs on its node.
+     */
+    public static record Demand(String group, int memory) {
+
+        public static Demand of(SimpleCloudGroup group) {
+            return new Demand(group.getName(), group.getMemory() * Math.max(1, group.getMinServers()));
+        }
+
+    }
+
+    public static enum Strategy {
+        /* puts the groups on the nodes with the most free memory and cpu, so a node failure hurts least */
+        SPREAD,
+        /* fills the nodes one after another, so the remaining nodes keep room for big groups */
+        PACK
+    }
+
+}
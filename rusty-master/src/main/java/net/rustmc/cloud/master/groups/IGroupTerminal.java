@@ -18,8 +18,36 @@ public interface IGroupTerminal {
 
     public ICloudGroup getCloudGroupByName(String name);
 
+    /**
+     * @return the groups which are allocated to the node, without looking at the other groups.
+     */
+    public List<ICloudGroup> getCloudGroupsByNode(String node);
+
+    /**
+     * moves the group to the node, the group has to be changed through here so the terminal keeps its indexes.
+     */
+    public void setAllocatedNode(ICloudGroup group, String node);
+
+    public void subscribe(IGroupListener listener);
+
+    public void unsubscribe(IGroupListener listener);
+
     public ICloudGroup produce(String name, boolean proxy, int maxPlayersPer, int percent, int maxServers, int memory, String allocatedNode);
 
+    /**
+     * places the groups on the nodes in one pass and transfers them to the ones which are online.
+     *
+     * @return the amount of groups which could be placed.
+     */
+    public int allocate(Collection<ICloudGroup> groups);
+
+    /**
+     * moves the groups of the node to the online nodes, a group which fits on none of them stays allocated to it.
+     *
+     * @return the amount of groups which have been moved.
+     */
+    public int reallocate(String node);
+
     public void requestTransfer(ICloudGroup group);
 
     public List<ICloudGroup> getCloudGroups();
@@ -1,18 +1,18 @@
 package net.rustmc.cloud.master.handlers;
 
 import io.netty.channel.ChannelHandlerContext;
-import net.rustmc.cloud.base.common.Rust;
-import net.rustmc.cloud.base.common.communicate.CommunicationFuturePromise;
-import net.rustmc.cloud.base.common.communicate.DefaultChannelImpl;
-import net.rustmc.cloud.base.communicate.CommunicatePacket;
+import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
+import net.rustmc.cloud.base.communicate.ICommunicateChannel;
 import net.rustmc.cloud.base.packets.input.handshake.PacketInHandshake;
 import net.rustmc.cloud.base.packets.output.handshake.PacketOutHandshake;
 import net.rustmc.cloud.master.RustCloud;
 import net.rustmc.cloud.master.groups.ICloudGroup;
+import net.rustmc.cloud.master.groups.IGroupListener;
+import net.rustmc.cloud.master.nodes.IOfflineNode;
 import net.rustmc.cloud.master.nodes.IOnlineNode;
+import net.rustmc.cloud.master.nodes.NodeSession;
 
-import java.util.concurrent.TimeUnit;
-import java.util.function.BiConsumer;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -23,46 +23,100 @@ import java.util.function.Consumer;
  */
 public class NodeConnectHandler {
 
-    boolean timeout = false;
+    /* nodes which connect at the same time must not place the same unallocated groups */
+    private static final Object ALLOCATION = new Object();
 
+    /*
+     * the handshake is answered on the event loop of the channel, only the restoration of the groups is handed off.
+     * so a storm of reconnecting nodes is authenticated in parallel and no handshake waits for the files of another node.
+     */
     public NodeConnectHandler() {
 
+        RustCloud.getCloud().getCommunicateChannel().getBaseHandlerPool().subscribe(PacketInHandshake.class, new CommunicateChannelHandler<PacketInHandshake>() {
+            @Override
+            public void handle(PacketInHandshake packet, ICommunicateChannel channel) {
+                final var session = NodeSession.of(channel.origin());
+                /* a second handshake on the same channel or one after the timeout is ignored */
+                if (session == null || !session.transition(NodeSession.State.CONNECTED, NodeSession.State.AUTHENTICATED)) return;
+                final var node = RustCloud.getCloud().getOfflineNodeTerminal().getOfflineNodeByNodeKey(packet.getNodeKey());
+                if (node == null) {
+                    session.transition(NodeSession.State.AUTHENTICATED, NodeSession.State.REJECTED);
+                    RustCloud.getCloud().getCloudConsole().send("a client with an §eunknown node key §rhas been rejected (§e" + channel.getAddress() + "§r)");
+                    channel.decline();
+                    return;
+                }
+                final var name = node.configuration().getName();
+                final var terminal = RustCloud.getCloud().getOnlineNodeTerminal();
+                final boolean resumed = terminal.resume(name, packet.getResumeToken());
+                terminal.open(node, channel);
+                /* the node stops every group which is not listed, so a group moved away while it was dead does not run twice */
+                final String[] groups = node.getAllocatedGroups().stream().map(group -> group.getObject().getName()).toArray(String[]::new);
+                channel.respond(packet, new PacketOutHandshake(terminal.issueResumeToken(name), resumed, groups));
+                RustCloud.getCloud().getCloudConsole().send("the §a" + name + " §rhas " + (resumed ? "resumed its session with" : "connected to") + " the server.");
+                session.transition(NodeSession.State.AUTHENTICATED, NodeSession.State.RESTORING);
+                RustCloud.getCloud().getRestoreExecutor().execute(() -> {
+                    restore(node, resumed);
+                    session.transition(NodeSession.State.RESTORING, NodeSession.State.READY);
+                });
+            }
+        });
+
+        /* a client has to authenticate before anything but its handshake reaches the handlers, e.g. a file transfer */
+        RustCloud.getCloud().getCommunicateChannel().getBaseHandlerPool().subscribeFilter((context, packet) -> {
+            if (packet instanceof PacketInHandshake) return true;
+            final var session = NodeSession.of(context.channel());
+            return session != null && session.isAuthenticated();
+        });
+
+        /* a node which has got a group while it was away has to be restored completely */
+        RustCloud.getCloud().getGroupTerminal().subscribe(new IGroupListener() {
+            @Override
+            public void onRegister(ICloudGroup group) {
+                RustCloud.getCloud().getOnlineNodeTerminal().invalidateResumeToken(group.getObject().getAllocatedNode());
+            }
+
+            @Override
+            public void onAllocate(ICloudGroup group, String previous) {
+                RustCloud.getCloud().getOnlineNodeTerminal().invalidateResumeToken(group.getObject().getAllocatedNode());
+            }
+        });
+
         RustCloud.getCloud().getCommunicateChannel().getBaseHandlerPool().subscribeBootHandler(new Consumer<ChannelHandlerContext>() {
-            @SuppressWarnings("InstantiationOfUtilityClass")
             @Override
             public void accept(ChannelHandlerContext channelHandlerContext) {
-                final CommunicationFuturePromise<PacketInHandshake> handshakeCommunicationFuturePromise = new CommunicationFuturePromise<>(new PacketOutHandshake(), channelHandlerContext.channel().id().asLongText(), new BiConsumer<ChannelHandlerContext, CommunicatePacket<?>>() {
-                    @Override
-                    public void accept(ChannelHandlerContext channelHandlerContext, CommunicatePacket<?> communicatePacket) {
-                        final var income = (PacketInHandshake) communicatePacket;
-                        final var node = RustCloud.getCloud().getOfflineNodeTerminal().getOfflineNodeByNodeKey(income.getNodeKey());
-                        if (node != null) {
-                            RustCloud.getCloud().getOnlineNodeTerminal().open(node, new DefaultChannelImpl(channelHandlerContext.channel()));
-                            RustCloud.getCloud().getCommunicateChannel().dispatch(new PacketOutHandshake(), channelHandlerContext.channel().id().asLongText());
-                            RustCloud.getCloud().getCloudConsole().send("the §a" + node.configuration().getName() + " §rhas connected to the server.");
-                            final var groups = node.getAllocatedGroups();
-                            if (groups.size() != 0) {
-                                RustCloud.getCloud().getOnlineNodeTerminal().getByName(node.configuration().getName()).store(IOnlineNode.NodeRequest.REMOTE_GROUPS.name(), groups);
-                                RustCloud.getCloud().getCloudConsole().send("the node does §rcurrently have §a" + groups.size() + " §rgroups stored.");
-                                for (ICloudGroup group : groups) {
-                                    RustCloud.getCloud().getGroupTerminal().requestTransfer(group);
-                                }
-                            } else RustCloud.getCloud().getCloudConsole().send("the node does §enot §rcurrently have any groups stored.");
-                        }
-                        timeout = true;
-                    }
+                final var channel = channelHandlerContext.channel();
+                NodeSession.open(channel, RustCloud.getCloud().getBaseCloudConfiguration().getHandshakeTimeout(), () -> {
+                    RustCloud.getCloud().getCloudConsole().send("a not recognized §eclient §rhas been detected (§e" + channel.remoteAddress() + "§r)");
+                    channel.close();
                 });
-                Rust.getInstance().getAsynchronousExecutor().schedule(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (!timeout) {
-                            RustCloud.getCloud().getCloudConsole().send("a not recognized §eclient §rhas been detected (§e" + channelHandlerContext.channel().remoteAddress().toString() + "§r)");
-                            channelHandlerContext.channel().close();
-                        }
-                    }
-                }, 1000, TimeUnit.MILLISECONDS);
             }
         });
     }
 
+    /*
+     * a resumed node still runs its groups with the files it had, so they are not compared again.
+     */
+    private static void restore(IOfflineNode node, boolean resumed) {
+        final var online = RustCloud.getCloud().getOnlineNodeTerminal().getByName(node.configuration().getName());
+        /* the node has already disconnected again */
+        if (online == null) return;
+        final var groups = node.getAllocatedGroups();
+        if (groups.size() != 0) {
+            online.store(IOnlineNode.NodeRequest.REMOTE_GROUPS.name(), groups);
+            RustCloud.getCloud().getCloudConsole().send("the §a" + node.configuration().getName() + " §rnode does currently have §a" + groups.size() + " §rgroups stored.");
+            if (!resumed) {
+                for (ICloudGroup group : groups) {
+                    RustCloud.getCloud().getGroupTerminal().requestTransfer(group);
+                }
+            }
+        } else RustCloud.getCloud().getCloudConsole().send("the §a" + node.configuration().getName() + " §rnode does §enot §rcurrently have any groups stored.");
+        synchronized (ALLOCATION) {
+            final var unallocated = List.copyOf(RustCloud.getCloud().getGroupTerminal().getUnallocatedGroups());
+            if (!unallocated.isEmpty()) {
+                final int placed = RustCloud.getCloud().getGroupTerminal().allocate(unallocated);
+                RustCloud.getCloud().getCloudConsole().send("§a" + placed + " §rof §a" + unallocated.size() + " §runallocated groups have been placed on the nodes.");
+            }
+        }
+    }
+
 }
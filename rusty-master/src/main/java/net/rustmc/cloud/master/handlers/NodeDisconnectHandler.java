@@ -17,10 +17,12 @@ public class NodeDisconnectHandler {
         RustCloud.getCloud().getCommunicateChannel().getBaseHandlerPool().subscribeCloseHandler(new Consumer<ChannelHandlerContext>() {
             @Override
             public void accept(ChannelHandlerContext channelHandlerContext) {
-                final var name = RustCloud.getCloud()
+                final var node = RustCloud.getCloud()
                         .getOnlineNodeTerminal()
-                        .getByUniqueID(channelHandlerContext.channel().id().asLongText())
-                        .offline()
+                        .getByUniqueID(channelHandlerContext.channel().id().asLongText());
+                /* clients which never sent a handshake and nodes which have already said goodbye are not known */
+                if (node == null) return;
+                final var name = node.offline()
                         .configuration()
                         .getName();
                 RustCloud.getCloud()
@@ -17,10 +17,11 @@ public class PacketInNodeDisconnectHandler {
         RustCloud.getCloud().getCommunicateChannel().getBaseHandlerPool().subscribe(PacketInDisconnect.class, new CommunicateChannelHandler<PacketInDisconnect>() {
             @Override
             public void handle(PacketInDisconnect packet, ICommunicateChannel channel) {
-                final var name = RustCloud.getCloud()
+                final var node = RustCloud.getCloud()
                         .getOnlineNodeTerminal()
-                        .getByUniqueID(channel.getUniqueID())
-                        .offline()
+                        .getByUniqueID(channel.getUniqueID());
+                if (node == null) return;
+                final var name = node.offline()
                         .configuration()
                         .getName();
                 RustCloud.getCloud()
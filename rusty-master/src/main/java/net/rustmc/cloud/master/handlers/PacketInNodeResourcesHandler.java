@@ -0,0 +1,32 @@
+package net.rustmc.cloud.master.handlers;
+
+import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
+import net.rustmc.cloud.base.communicate.ICommunicateChannel;
+import net.rustmc.cloud.base.packets.input.node.PacketInNodeResources;
+import net.rustmc.cloud.master.RustCloud;
+import net.rustmc.cloud.master.nodes.IOnlineNode;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class PacketInNodeResourcesHandler {
+
+    public PacketInNodeResourcesHandler() {
+        RustCloud.getCloud().getCommunicateChannel().getBaseHandlerPool().subscribe(PacketInNodeResources.class, new CommunicateChannelHandler<PacketInNodeResources>() {
+            @Override
+            public void handle(PacketInNodeResources packet, ICommunicateChannel channel) {
+                final var node = RustCloud.getCloud().getOnlineNodeTerminal().getByUniqueID(channel.getUniqueID());
+                if (node == null) return;
+                final var resources = node.getResources();
+                resources.apply(packet);
+                node.store(IOnlineNode.NodeRequest.REMOTE_MEMORY.name(), resources.getFreeMemory());
+                if (resources.getOperatingSystem() != null)
+                    node.store(IOnlineNode.NodeRequest.REMOTE_OPERATING_SYSTEM.name(), resources.getOperatingSystem());
+            }
+        });
+    }
+
+}
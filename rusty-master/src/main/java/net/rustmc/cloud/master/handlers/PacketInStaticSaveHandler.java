@@ -0,0 +1,121 @@
+package net.rustmc.cloud.master.handlers;
+
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
+import net.rustmc.cloud.base.communicate.ICommunicateChannel;
+import net.rustmc.cloud.base.console.ICloudConsole;
+import net.rustmc.cloud.base.packets.input.transfer.PacketInStaticSave;
+import net.rustmc.cloud.base.packets.output.transfer.PacketOutStaticSave;
+import net.rustmc.cloud.base.util.DirectoryManifest;
+import net.rustmc.cloud.base.util.FileHelper;
+import net.rustmc.cloud.base.util.ZipHelper;
+import net.rustmc.cloud.master.RustCloud;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class PacketInStaticSaveHandler {
+
+    private static final Pattern SERVICE_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+    /* the restore pool has several threads, the saves of one group are still applied one after another */
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    public PacketInStaticSaveHandler() {
+        RustCloud.getCloud().getCommunicateChannel().getBaseHandlerPool().subscribe(PacketInStaticSave.class, new CommunicateChannelHandler<PacketInStaticSave>() {
+            @Override
+            public void handle(PacketInStaticSave packet, ICommunicateChannel channel) {
+                /* a save unzips and moves every file, so it must not hold up the heartbeats on the asynchronous thread */
+                try {
+                    RustCloud.getCloud().getRestoreExecutor().execute(() -> channel.respond(packet, new PacketOutStaticSave(apply(packet, channel))));
+                } catch (RejectedExecutionException e) {
+                    channel.respond(packet, new PacketOutStaticSave(false));
+                }
+            }
+        });
+    }
+
+    /*
+     * the archive is extracted next to the group first and every file is then moved over its old version,
+     * so the group never holds a half written file, even if the master stops in between.
+     * only the node the group is allocated to may save it, the archive of any other node is left untouched.
+     */
+    private static boolean apply(PacketInStaticSave packet, ICommunicateChannel channel) {
+        final var group = RustCloud.getCloud().getGroupTerminal().getCloudGroupByName(packet.getGroup());
+        if (group == null || group.getObject().isTemplate() || !SERVICE_NAME.matcher(packet.getService()).matches())
+            return false;
+        final var node = RustCloud.getCloud().getOnlineNodeTerminal().getByUniqueID(channel.getUniqueID());
+        if (node == null || !node.configuration().getName().equals(group.getObject().getAllocatedNode())) {
+            RustCloud.getCloud().getCloudConsole().send("the data of §c" + packet.getService() + " §rhas been rejected, the group §c" + packet.getGroup() + " §ris not allocated to the sending node.", ICloudConsole.Output.WARN);
+            return false;
+        }
+        synchronized (LOCKS.computeIfAbsent(packet.getGroup(), ignored -> new Object())) {
+            return apply(packet);
+        }
+    }
+
+    private static boolean apply(PacketInStaticSave packet) {
+        final Path target = Path.of("statics", packet.getGroup()).toAbsolutePath().normalize();
+        final Path archive = Path.of("temp", "saves", packet.getService() + ".zip");
+        final Path staging = Path.of("temp", "saves", packet.getService());
+        try {
+            if (packet.isArchive()) {
+                FileHelper.delete(staging);
+                ZipHelper.unzip(archive, staging, Rust.getInstance().getWorkerExecutor());
+                for (Path file : files(staging)) {
+                    final Path destination = target.resolve(staging.relativize(file).toString()).normalize();
+                    if (!destination.startsWith(target)) continue;
+                    Files.createDirectories(destination.getParent());
+                    move(file, destination);
+                }
+            }
+            for (String path : packet.getRemoved()) {
+                final Path file = target.resolve(path).normalize();
+                if (file.startsWith(target)) Files.deleteIfExists(file);
+            }
+            DirectoryManifest.refresh(target, new File("temp//manifests//statics-" + packet.getGroup() + ".manifest"));
+            RustCloud.getCloud().getCloudConsole().send("the data of §a" + packet.getService() + " §rhas been saved to the group §a" + packet.getGroup() + "§r.");
+            return true;
+        } catch (IOException e) {
+            RustCloud.getCloud().getCloudConsole().send("the data of §c" + packet.getService() + " §rcould not be saved (§c" + e.getMessage() + "§r).", ICloudConsole.Output.ERROR);
+            return false;
+        } finally {
+            try {
+                FileHelper.delete(staging);
+                Files.deleteIfExists(archive);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static List<Path> files(Path root) throws IOException {
+        try (Stream<Path> stream = Files.walk(root)) {
+            return stream.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package net.rustmc.cloud.master.nodes;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public interface IHeartbeatMonitor {
+
+    /**
+     * sends a heartbeat to every online node in the configured interval.
+     */
+    public void start();
+
+    /**
+     * declares the node dead, it is closed and its groups are moved to the other online nodes.
+     */
+    public void fail(IOnlineNode node);
+
+    public void close();
+
+}
@@ -4,6 +4,8 @@ import net.rustmc.cloud.base.communicate.CommunicatePacket;
 import net.rustmc.cloud.base.communicate.ICommunicateChannel;
 
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -13,16 +15,36 @@ import java.io.File;
  */
 public interface IOnlineNode extends IOfflineNode {
 
+    /**
+     * the remote values are pushed by the node, so this only makes sure the storage holds an entry for the request.
+     */
     public IOnlineNode request(NodeRequest nodeRequest);
 
+    /**
+     * sends the packet as a request to the node, the future is completed with its response.
+     */
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(CommunicatePacket<T> packet);
+
+    public <T extends CommunicatePacket<?>> CompletableFuture<T> request(CommunicatePacket<T> packet, long timeout, TimeUnit unit);
+
     public ICommunicateChannel getNodeCommunicateChannel();
 
     public void close();
 
-    public IOnlineNode dispatch(File file);
-
     public IOnlineNode dispatch(CommunicatePacket<?> communicatePacket);
 
+    /**
+     * queues the packet without flushing, see {@link #flush()}.
+     */
+    public IOnlineNode write(CommunicatePacket<?> communicatePacket);
+
+    public IOnlineNode flush();
+
+    /**
+     * streams the file to the destination path of the node, the future is completed once the node has stored it.
+     */
+    public CompletableFuture<Void> transfer(File file, String destination);
+
     public Object get(NodeRequest nodeRequest);
 
     public Object getWithRequestBefore(NodeRequest nodeRequest);
@@ -31,10 +53,21 @@ public interface IOnlineNode extends IOfflineNode {
 
     public void store(String k, Object v);
 
+    /**
+     * @return the resources the node has sampled last, empty until its first sample has arrived.
+     */
+    public NodeResources getResources();
+
+    /**
+     * @return the round trip and the missed heartbeats of the node.
+     */
+    public NodeHeartbeat getHeartbeat();
+
     public static enum NodeRequest {
         REMOTE_GROUPS,
         REMOTE_MEMORY,
-        REMOTE_OPERATING_SYSTEM
+        REMOTE_OPERATING_SYSTEM,
+        REMOTE_RESOURCES
     }
 
 }
@@ -26,4 +26,20 @@ public interface IOnlineNodeTerminal {
 
     public List<IOnlineNode> getOnlineNodes();
 
+    /**
+     * hands out a new token to the node, with which it can resume its session after its connection was lost.
+     * the tokens are only kept in memory, so a restarted master restores every node once.
+     */
+    public long issueResumeToken(String name);
+
+    /**
+     * @return true if the token is the last one the node has got, the token is used up either way.
+     */
+    public boolean resume(String name, long token);
+
+    /**
+     * lets the next handshake of the node restore it completely, e.g. once it has got another group.
+     */
+    public void invalidateResumeToken(String name);
+
 }
@@ -0,0 +1,41 @@
+package net.rustmc.cloud.master.nodes;
+
+import lombok.Getter;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+public final class NodeHeartbeat {
+
+    /* the round trip of the last answered heartbeat in milliseconds, -1 until the first one is answered */
+    private volatile double latency = -1;
+    /* smoothed over the last heartbeats, so a single slow answer does not stand out */
+    private volatile double averageLatency = -1;
+    /* the heartbeats in a row which have not been answered in time */
+    private volatile int misses;
+    /* the time of the last answer in milliseconds, 0 if the node has not answered yet */
+    private volatile long answered;
+
+    /**
+     * only called on the asynchronous thread by the heartbeat monitor, so the updates do not need to be atomic.
+     */
+    public void answer(long nanos) {
+        final double latency = nanos / 1_000_000d;
+        this.latency = latency;
+        this.averageLatency = this.averageLatency < 0 ? latency : this.averageLatency * 0.8 + latency * 0.2;
+        this.misses = 0;
+        this.answered = System.currentTimeMillis();
+    }
+
+    /**
+     * @return the heartbeats in a row which have been missed now.
+     */
+    public int miss() {
+        return ++this.misses;
+    }
+
+}
@@ -0,0 +1,70 @@
+package net.rustmc.cloud.master.nodes;
+
+import lombok.Getter;
+import net.rustmc.cloud.base.packets.input.node.PacketInNodeResources;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+@Getter
+public final class NodeResources {
+
+    private final Map<String, PacketInNodeResources.Sample> services = new ConcurrentHashMap<>();
+    private volatile double load;
+    private volatile int processors;
+    private volatile int freeMemory;
+    private volatile int totalMemory;
+    /* the memory the node still grants to new services in megabytes */
+    private volatile int availableMemory;
+    private volatile String operatingSystem;
+    /* the time of the last sample in milliseconds, 0 if the node has not sent one yet */
+    private volatile long updated;
+
+    /**
+     * merges the sample into the known state, a full sample replaces it.
+     */
+    public void apply(PacketInNodeResources packet) {
+        if (packet.isFull()) {
+            this.services.clear();
+            this.operatingSystem = packet.getOperatingSystem();
+        }
+        for (PacketInNodeResources.Sample sample : packet.getSamples()) {
+            this.services.put(sample.service(), sample);
+        }
+        for (String service : packet.getRemoved()) {
+            this.services.remove(service);
+        }
+        this.load = packet.getLoad() / 100d;
+        this.processors = packet.getProcessors();
+        this.freeMemory = packet.getFreeMemory();
+        this.totalMemory = packet.getTotalMemory();
+        this.availableMemory = packet.getAvailableMemory();
+        this.updated = System.currentTimeMillis();
+    }
+
+    public Map<String, PacketInNodeResources.Sample> getServices() {
+        return Collections.unmodifiableMap(this.services);
+    }
+
+    /**
+     * @return the cpu time all services use together in thousandths of one core.
+     */
+    public int getServiceCpu() {
+        return this.services.values().stream().mapToInt(PacketInNodeResources.Sample::cpu).sum();
+    }
+
+    /**
+     * @return the resident memory of all services together in megabytes.
+     */
+    public int getServiceMemory() {
+        return this.services.values().stream().mapToInt(PacketInNodeResources.Sample::memory).sum();
+    }
+
+}
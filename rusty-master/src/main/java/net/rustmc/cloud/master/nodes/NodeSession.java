@@ -0,0 +1,79 @@
+package net.rustmc.cloud.master.nodes;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public final class NodeSession {
+
+    private static final AttributeKey<NodeSession> KEY = AttributeKey.valueOf("rusty-node-session");
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CONNECTED);
+    private volatile ScheduledFuture<?> timeout;
+
+    private NodeSession() {
+    }
+
+    /**
+     * attaches a new session to the channel, it is rejected and closed if it has not authenticated within the timeout.
+     */
+    public static NodeSession open(Channel channel, long timeout, Runnable onTimeout) {
+        final NodeSession session = new NodeSession();
+        channel.attr(KEY).set(session);
+        session.timeout = channel.eventLoop().schedule(() -> {
+            if (session.transition(State.CONNECTED, State.REJECTED)) onTimeout.run();
+        }, timeout, TimeUnit.SECONDS);
+        return session;
+    }
+
+    /**
+     * @return the session of the channel, null if the channel was opened before the handler knew it.
+     */
+    public static NodeSession of(Channel channel) {
+        return channel.attr(KEY).get();
+    }
+
+    /**
+     * moves the session on, only one of several concurrent transitions from the same state succeeds.
+     */
+    public boolean transition(State from, State to) {
+        if (!this.state.compareAndSet(from, to)) return false;
+        if (from == State.CONNECTED && this.timeout != null) this.timeout.cancel(false);
+        return true;
+    }
+
+    /**
+     * @return true once the node key has been accepted, until the session is rejected.
+     */
+    public boolean isAuthenticated() {
+        final State state = this.state.get();
+        return state == State.AUTHENTICATED || state == State.RESTORING || state == State.READY;
+    }
+
+    public State getState() {
+        return this.state.get();
+    }
+
+    public enum State {
+
+        /* the channel is open but the node has not sent its handshake yet */
+        CONNECTED,
+        /* the node key is known and the node is online */
+        AUTHENTICATED,
+        /* the groups of the node are compared and transferred */
+        RESTORING,
+        READY,
+        REJECTED
+
+    }
+
+}
@@ -1,27 +1,47 @@
 package net.rustmc.cloud.node;
 
 import io.netty.handler.stream.ChunkedFile;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.Getter;
 import net.rustmc.cloud.api.commands.CommandManager;
 import net.rustmc.cloud.api.commands.listeners.ConsoleInputListener;
 import net.rustmc.cloud.api.commands.listeners.ConsoleTabListener;
-import net.rustmc.cloud.base.common.communicate.CommunicationFuturePromise;
 import net.rustmc.cloud.base.common.Rust;
 import net.rustmc.cloud.base.common.packets.ConstantPacketRegistryCluster;
 import net.rustmc.cloud.base.communicate.IChannelBootstrap;
 import net.rustmc.cloud.base.communicate.ICommunicateBaseChannel;
 import net.rustmc.cloud.base.console.ICloudConsole;
-import net.rustmc.cloud.base.packets.input.handshake.PacketInHandshake;
 import net.rustmc.cloud.base.util.FileHelper;
 import net.rustmc.cloud.node.commands.CloseCommand;
+import net.rustmc.cloud.node.commons.communicate.DefaultConnectionManagerImpl;
 import net.rustmc.cloud.node.commons.groups.OfflineGroupTerminalImpl;
 import net.rustmc.cloud.node.commons.groups.OnlineGroupPoolImpl;
+import net.rustmc.cloud.node.commons.groups.types.StaticGroupImpl;
+import net.rustmc.cloud.node.commons.service.DefaultPortAllocatorImpl;
+import net.rustmc.cloud.node.commons.service.DefaultResourceSamplerImpl;
+import net.rustmc.cloud.node.commons.service.DefaultServiceStarterImpl;
+import net.rustmc.cloud.node.communicate.IConnectionManager;
 import net.rustmc.cloud.node.configurations.RustyNodeConfiguration;
 import net.rustmc.cloud.node.groups.IOfflineGroupTerminal;
+import net.rustmc.cloud.node.groups.IOnlineGroup;
 import net.rustmc.cloud.node.groups.IOnlineGroupPool;
-import net.rustmc.cloud.node.handlers.PacketOutHandshakeHandler;
+import net.rustmc.cloud.node.handlers.PacketOutGroupInfoHandler;
+import net.rustmc.cloud.node.handlers.PacketOutGroupManifestHandler;
+import net.rustmc.cloud.node.handlers.PacketOutGroupStartHandler;
+import net.rustmc.cloud.node.handlers.PacketOutGroupTransferHandler;
+import net.rustmc.cloud.node.handlers.PacketOutHeartbeatHandler;
+import net.rustmc.cloud.node.handlers.PacketOutServiceShutdownHandler;
+import net.rustmc.cloud.node.service.IPortAllocator;
+import net.rustmc.cloud.node.service.IResourceSampler;
+import net.rustmc.cloud.node.service.IServiceStarter;
 
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -46,9 +66,18 @@ public final class RustCloud {
     private final File tempFile = new File("temp");
     private final File templatesFile = new File("templates");
     private final File staticsFile = new File("statics");
-    private ICommunicateBaseChannel communicateBaseChannel;
     private final IOfflineGroupTerminal offlineGroupTerminal = new OfflineGroupTerminalImpl();
     private final IOnlineGroupPool onlineGroupPool = new OnlineGroupPoolImpl();
+    private final IPortAllocator portAllocator = new DefaultPortAllocatorImpl(this.configuration.getPortRangeStart(), this.configuration.getPortRangeEnd());
+    private final IServiceStarter serviceStarter = new DefaultServiceStarterImpl(this.configuration, this.portAllocator);
+    /* unpacks transferred groups and saves static services, both wait for the workers and take long for big worlds */
+    private final ExecutorService storageExecutor = Executors.newSingleThreadExecutor(new DefaultThreadFactory("rusty-storage", true));
+    private final IResourceSampler resourceSampler = new DefaultResourceSamplerImpl(this.configuration.getSampleInterval());
+    private final IConnectionManager connectionManager = new DefaultConnectionManagerImpl(this.configuration, this::subscribeHandlers, () -> {
+        /* the master has lost what it knew about the services, the next sample tells it again */
+        this.resourceSampler.requestFull();
+        this.resourceSampler.start();
+    });
 
     public RustCloud() {
 
@@ -116,34 +145,71 @@ public final class RustCloud {
 
     public void onBoot() {
 
-        this.cloudConsole.send("Connecting to §e" + this.configuration.getHost() + " §rat port §e" + this.configuration.getPort() + "§r.");
-
         new ConstantPacketRegistryCluster();
 
-        try {
-            this.communicateBaseChannel = this.bootstrap
-                    .host(this.configuration.getHost())
-                    .port(this.configuration.getPort())
-                    .open();
-
-            CommunicationFuturePromise.subscribe(this.getCommunicateBaseChannel());
+        this.connectionManager.connect();
 
-            new PacketOutHandshakeHandler();
-
-            this.getCommunicateBaseChannel().dispatch(new PacketInHandshake(this.configuration.getNodeKey()));
+    }
 
-        } catch (Exception ignored) {
-        }
+    /*
+     * every connection has its own handler pool, so the handlers are subscribed again after each reconnect.
+     */
+    private void subscribeHandlers() {
+        new PacketOutGroupManifestHandler();
+        new PacketOutGroupTransferHandler();
+        new PacketOutGroupInfoHandler();
+        new PacketOutGroupStartHandler();
+        new PacketOutServiceShutdownHandler();
+        new PacketOutHeartbeatHandler();
+    }
 
+    /**
+     * @return the channel of the current or the last connection to the master.
+     */
+    public ICommunicateBaseChannel getCommunicateBaseChannel() {
+        return this.connectionManager.getChannel();
     }
 
     public void onShutdown() {
+        this.connectionManager.close();
+        this.resourceSampler.close();
+        this.shutdownGroups();
+        this.storageExecutor.shutdown();
+        this.serviceStarter.close();
+        this.portAllocator.close();
         this.getCloudConsole().close();
         Rust.getInstance().getChannelFactory().close();
         Rust.getInstance().getConfigurationHandler().close();
         this.getCloudConsole().send("Successfully shutdown the node.");
     }
 
+    /**
+     * stops the services of all groups in parallel and waits until they have exited or were killed
+     * and static groups have saved their last state.
+     */
+    private void shutdownGroups() {
+        final var groups = this.onlineGroupPool.getOnlineGroups();
+        if (groups.isEmpty()) return;
+        long timeout = 0;
+        final CompletableFuture<?>[] pending = new CompletableFuture<?>[groups.size()];
+        for (int i = 0; i < pending.length; i++) {
+            final IOnlineGroup group = groups.get(i);
+            pending[i] = group.shutdown();
+            /* the services are killed ten seconds after their stop timeout, static groups transfer their save afterwards */
+            long budget = Math.max(group.getObject().getStopTimeout(), 30) + 15;
+            if (group instanceof StaticGroupImpl) budget += 2 * StaticGroupImpl.SAVE_TIMEOUT;
+            timeout = Math.max(timeout, budget);
+        }
+        this.cloudConsole.send("stopping the services of §e" + groups.size() + " §rgroups.");
+        try {
+            CompletableFuture.allOf(pending).get(timeout, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            this.cloudConsole.send("not every service could be stopped (§c" + e.getClass().getSimpleName() + "§r).", ICloudConsole.Output.ERROR);
+        }
+    }
+
     public static void boot() {
         cloud = new RustCloud();
     }
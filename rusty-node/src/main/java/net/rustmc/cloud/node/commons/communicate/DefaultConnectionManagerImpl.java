@@ -0,0 +1,193 @@
+package net.rustmc.cloud.node.commons.communicate;
+
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.communicate.ICommunicateBaseChannel;
+import net.rustmc.cloud.base.console.ICloudConsole;
+import net.rustmc.cloud.base.packets.input.handshake.PacketInHandshake;
+import net.rustmc.cloud.node.RustCloud;
+import net.rustmc.cloud.node.communicate.IConnectionManager;
+import net.rustmc.cloud.node.configurations.RustyNodeConfiguration;
+import net.rustmc.cloud.node.groups.IOnlineGroup;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class DefaultConnectionManagerImpl implements IConnectionManager {
+
+    private final RustyNodeConfiguration configuration;
+    /* subscribes the handlers, every connection has its own handler pool */
+    private final Runnable subscriber;
+    private final Runnable onConnect;
+    private final long initialDelay;
+    private final long maxDelay;
+    /* the connection attempts and the token are only touched on the single asynchronous thread */
+    private int attempts;
+    private long resumeToken;
+    /* the channel stays known after it was lost, so a late packet fails on the closed channel */
+    private volatile ICommunicateBaseChannel channel;
+    private volatile ICommunicateBaseChannel current;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    /* the time of the last heartbeat of the current connection in milliseconds, 0 until the first one */
+    private volatile long lastHeartbeat;
+    private ScheduledFuture<?> watchdog;
+
+    public DefaultConnectionManagerImpl(RustyNodeConfiguration configuration, Runnable subscriber, Runnable onConnect) {
+        this.configuration = configuration;
+        this.subscriber = subscriber;
+        this.onConnect = onConnect;
+        this.initialDelay = configuration.getInitialReconnectDelay() > 0 ? configuration.getInitialReconnectDelay() : 1000;
+        this.maxDelay = Math.max(this.initialDelay, configuration.getMaxReconnectDelay());
+    }
+
+    @Override
+    public void connect() {
+        if (this.configuration.getHeartbeatTimeout() > 0 && this.watchdog == null) {
+            final long period = Math.max(1, this.configuration.getHeartbeatTimeout() / 3);
+            this.watchdog = Rust.getInstance().getAsynchronousExecutor().scheduleWithFixedDelay(this::watch, period, period, TimeUnit.SECONDS);
+        }
+        Rust.getInstance().getAsynchronousExecutor().execute(this::attempt);
+    }
+
+    private void attempt() {
+        if (this.closed) return;
+        RustCloud.getCloud().getCloudConsole().send("Connecting to §e" + this.configuration.getHost() + " §rat port §e" + this.configuration.getPort() + "§r.");
+        final ICommunicateBaseChannel channel;
+        try {
+            channel = Rust.getInstance()
+                    .getChannelFactory()
+                    .bootstrap()
+                    .host(this.configuration.getHost())
+                    .port(this.configuration.getPort())
+                    .flushConsolidation(this.configuration.isFlushConsolidation())
+                    .open();
+        } catch (Exception e) {
+            this.retry("the server could §cnot §rbe reached (§c" + e.getClass().getSimpleName() + "§r).");
+            return;
+        }
+        this.channel = channel;
+        this.current = channel;
+        this.lastHeartbeat = 0;
+        this.subscriber.run();
+        channel.getBaseHandlerPool().subscribeCloseHandler(ctx -> Rust.getInstance().getAsynchronousExecutor().execute(() -> this.lost(channel)));
+        /* the channel may have been closed before the close handler was known */
+        if (!channel.origin().isActive()) {
+            this.lost(channel);
+            return;
+        }
+        channel.request(new PacketInHandshake(this.configuration.getNodeKey(), this.resumeToken)).whenCompleteAsync((handshake, throwable) -> {
+            if (this.current != channel) return;
+            if (throwable != null) {
+                RustCloud.getCloud().getCloudConsole().send("the server has §cnot §ranswered the handshake (§c" + throwable.getClass().getSimpleName() + "§r).");
+                /* the close handler connects again */
+                channel.decline();
+                return;
+            }
+            this.attempts = 0;
+            this.resumeToken = handshake.getResumeToken();
+            this.connected = true;
+            RustCloud.getCloud().getCloudConsole().send(handshake.isResumed()
+                    ? "the node has §asuccessfully §rresumed its session, the running services are kept."
+                    : "the node has §asuccessfully §rconnected to the server.");
+            this.fence(Set.copyOf(Arrays.asList(handshake.getGroups())));
+            this.onConnect.run();
+        }, Rust.getInstance().getAsynchronousExecutor());
+    }
+
+    /*
+     * the master may have moved groups to other nodes while this one was declared dead,
+     * their services are stopped so no group runs on two nodes at the same time.
+     */
+    private void fence(Set<String> allocated) {
+        for (IOnlineGroup group : RustCloud.getCloud().getOnlineGroupPool().getOnlineGroups()) {
+            if (allocated.contains(group.getObject().getName())) continue;
+            RustCloud.getCloud().getOnlineGroupPool().unregister(group);
+            RustCloud.getCloud().getCloudConsole().send("the group §e" + group.getObject().getName() + " §ris allocated to another node, its services are stopped.", ICloudConsole.Output.WARN);
+            group.shutdown();
+        }
+    }
+
+    /*
+     * every connection has its own event loop group, so the one of a lost connection is shut down with it.
+     */
+    private void lost(ICommunicateBaseChannel channel) {
+        if (this.current != channel) return;
+        this.current = null;
+        channel.origin().eventLoop().parent().shutdownGracefully();
+        final boolean wasConnected = this.connected;
+        this.connected = false;
+        if (this.closed) return;
+        /* a lost connection is tried again within the initial delay, only failed attempts wait longer */
+        if (wasConnected) {
+            final long delay = ThreadLocalRandom.current().nextLong(this.initialDelay + 1);
+            RustCloud.getCloud().getCloudConsole().send("the connection to the server has been §clost§r, the next attempt follows in §e" + delay + "ms§r.", ICloudConsole.Output.WARN);
+            this.attempts = 0;
+            Rust.getInstance().getAsynchronousExecutor().schedule(this::attempt, delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+        this.retry("the connection to the server has been §cclosed §rbefore the handshake.");
+    }
+
+    /*
+     * the delay doubles with every attempt, half of it is random, so nodes which have lost the master together
+     * do not all connect again at the same moment.
+     */
+    private void retry(String reason) {
+        this.attempts++;
+        if (this.configuration.isTerminateAfterFailure() && this.configuration.getMaxReconnectAttempts() > 0
+                && this.attempts >= this.configuration.getMaxReconnectAttempts()) {
+            RustCloud.getCloud().getCloudConsole().send(reason + " the node gives up after §c" + this.attempts + " §rattempts.", ICloudConsole.Output.ERROR);
+            /* the shutdown hooks wait for tasks of the asynchronous thread, so it must not exit itself */
+            new Thread(() -> System.exit(1)).start();
+            return;
+        }
+        final long delay = Math.min(this.maxDelay, this.initialDelay << Math.min(this.attempts - 1, 20));
+        final long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        RustCloud.getCloud().getCloudConsole().send(reason + " the next attempt follows in §e" + jittered + "ms§r.", ICloudConsole.Output.WARN);
+        Rust.getInstance().getAsynchronousExecutor().schedule(this::attempt, jittered, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * a half open connection is never closed by the socket, so only the missing heartbeats tell it.
+     * the watchdog is armed with the first heartbeat, a master without heartbeats is never cut off.
+     */
+    private void watch() {
+        final var channel = this.current;
+        final long last = this.lastHeartbeat;
+        if (channel == null || !this.connected || last == 0) return;
+        if (System.currentTimeMillis() - last < TimeUnit.SECONDS.toMillis(this.configuration.getHeartbeatTimeout())) return;
+        RustCloud.getCloud().getCloudConsole().send("the server has not sent a heartbeat for §e" + this.configuration.getHeartbeatTimeout() + " §rseconds.", ICloudConsole.Output.WARN);
+        channel.decline();
+    }
+
+    @Override
+    public ICommunicateBaseChannel getChannel() {
+        return this.channel;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return this.connected;
+    }
+
+    @Override
+    public void heartbeat() {
+        this.lastHeartbeat = System.currentTimeMillis();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        if (this.watchdog != null) this.watchdog.cancel(false);
+    }
+
+}
@@ -1,17 +1,22 @@
 package net.rustmc.cloud.node.commons.groups;
 
 import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.console.ICloudConsole;
 import net.rustmc.cloud.base.objects.SimpleCloudGroup;
-import net.rustmc.cloud.base.util.FileHelper;
+import net.rustmc.cloud.base.util.LatencyHistogram;
 import net.rustmc.cloud.node.RustCloud;
-import net.rustmc.cloud.node.commons.service.DefaultOnlineServiceImpl;
 import net.rustmc.cloud.node.groups.IOnlineGroup;
 import net.rustmc.cloud.node.service.INativeOnlineService;
+import net.rustmc.cloud.node.service.PreparedService;
 
-import java.io.File;
-import java.io.IOException;
-import java.net.ServerSocket;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -21,64 +26,183 @@ import java.util.LinkedList;
  */
 public abstract class Group implements IOnlineGroup {
 
+    private static final long DEFAULT_STOP_TIMEOUT = 30;
+    /* a service which exits within this time after it was ready counts as failed */
+    private static final long STABLE_UPTIME = TimeUnit.SECONDS.toMillis(60);
+    private static final long INITIAL_RESTART_DELAY = TimeUnit.SECONDS.toMillis(5);
+    private static final long MAX_RESTART_DELAY = TimeUnit.MINUTES.toMillis(5);
+
     protected final SimpleCloudGroup cloudGroup;
-    protected LinkedList<INativeOnlineService> services = new LinkedList<>();
+    protected final List<INativeOnlineService> services = new CopyOnWriteArrayList<>();
+    private final AtomicInteger counter = new AtomicInteger();
+    /* warm services, only one of both queues is used depending on whether the group keeps them running */
+    private final Queue<PreparedService> prepared = new ConcurrentLinkedQueue<>();
+    private final Queue<INativeOnlineService> standby = new ConcurrentLinkedQueue<>();
+    /* the warm services including the ones which are still prepared */
+    private final AtomicInteger warming = new AtomicInteger();
+    private final LatencyHistogram startLatency = new LatencyHistogram();
+    /* the services which are started to get back to the minimum and the failed starts and crashes in a row */
+    private final AtomicInteger replacing = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile boolean closed;
 
     public Group(SimpleCloudGroup cloudGroup) {
         this.cloudGroup = cloudGroup;
     }
 
+    /**
+     * the warm services are prepared after the minimum amount, so they do not delay it.
+     */
     @Override
-    public void start() {
-        int count = this.cloudGroup.getMinServers();
-        for (int i = 1; i<count; i++) {
-            final var file = new File("temp//" + this.cloudGroup.getName() + "//" + this.cloudGroup.getName() + "-" + count);
-            FileHelper.create(file);
-            final var files = file.listFiles();
-            if (files != null) {
-                for (File copy : files) {
-                    if (!copy.isDirectory()) {
-                        Rust.getInstance().getAsynchronousExecutor().submit(() -> {
-                            try {
-                                FileHelper.copyFile(copy.getPath(), file.getPath() + "//" + copy.getName());
-                            } catch (IOException e) {
-                                throw new RuntimeException(e);
-                            }
-                        });
-                    } else {
-                        Rust.getInstance().getAsynchronousExecutor().submit(() -> FileHelper.copyDir(copy, file.getPath()));
-                    }
-                }
-            }
-            try {
-                FileHelper.copyFile(this.cloudGroup.isProxy() ? RustCloud.getCloud().getPaperFile().getPath() : RustCloud.getCloud().getProxyFile().getPath(), file.getAbsolutePath() + "//runner.jar");
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-            ProcessBuilder processBuilder;
-            if (this.cloudGroup.isProxy()) {
-                processBuilder = new ProcessBuilder(("java -jar -Xms" + this.cloudGroup.getName() + "M -Xmx" + this.cloudGroup.getMemory() + "M runner.jar").split(" "));
-                RustCloud.getCloud().getCloudConsole().send("starting §b" + this.cloudGroup.getName() + " §ron default minecraft port.");
+    public CompletableFuture<Void> start() {
+        final int count = this.cloudGroup.getMinServers();
+        final CompletableFuture<?>[] pending = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            pending[i] = this.startService();
+        }
+        return CompletableFuture.allOf(pending).whenComplete((ignored, throwable) -> {
+            this.refill();
+            this.replenish();
+        });
+    }
+
+    @Override
+    public CompletableFuture<INativeOnlineService> startService() {
+        if (this.closed)
+            return CompletableFuture.failedFuture(new IllegalStateException("The group " + this.cloudGroup.getName() + " is shut down."));
+        INativeOnlineService service;
+        while ((service = this.standby.poll()) != null) {
+            this.warming.decrementAndGet();
+            if (!service.isAlive()) continue;
+            this.register(service);
+            this.refill();
+            return CompletableFuture.completedFuture(service);
+        }
+        final var starter = RustCloud.getCloud().getServiceStarter();
+        final PreparedService prepared = this.prepared.poll();
+        final CompletableFuture<INativeOnlineService> future;
+        if (prepared != null) {
+            this.warming.decrementAndGet();
+            future = starter.launch(prepared);
+        } else future = starter.start(this, this.counter.incrementAndGet());
+        this.refill();
+        return future.thenApply(started -> {
+            this.register(started);
+            return started;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> stopService(String name) {
+        for (INativeOnlineService service : this.services) {
+            if (service.getName().equals(name)) return service.stop(this.getStopTimeout(), TimeUnit.SECONDS);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /*
+     * a service which has become ready while the group is shut down is stopped at once.
+     * the master only stops services above the minimum, so one which exits below it has crashed and is replaced.
+     */
+    private void register(INativeOnlineService service) {
+        final long registered = System.currentTimeMillis();
+        this.services.add(service);
+        service.onExit().thenRun(() -> {
+            this.services.remove(service);
+            this.onExit(service);
+            if (System.currentTimeMillis() - registered < STABLE_UPTIME) this.failures.incrementAndGet();
+                else this.failures.set(0);
+            this.replenish();
+        });
+        if (this.closed) service.stop(this.getStopTimeout(), TimeUnit.SECONDS);
+    }
+
+    /*
+     * starts services until the group has its minimum again, a failed start is checked again as well.
+     * the delay doubles with every failure in a row, so a service which keeps crashing is not restarted in a tight loop.
+     */
+    private void replenish() {
+        if (this.closed) return;
+        int current;
+        do {
+            current = this.replacing.get();
+            if (this.services.size() + current >= this.cloudGroup.getMinServers()) return;
+        } while (!this.replacing.compareAndSet(current, current + 1));
+        final int failures = this.failures.get();
+        final long delay = failures == 0 ? 0 : Math.min(MAX_RESTART_DELAY, INITIAL_RESTART_DELAY << Math.min(failures - 1, 10));
+        if (delay > 0)
+            RustCloud.getCloud().getCloudConsole().send("the §e" + this.cloudGroup.getName() + " §rgroup is below its minimum, the next service starts in §e" + TimeUnit.MILLISECONDS.toSeconds(delay) + "s§r.", ICloudConsole.Output.WARN);
+        Rust.getInstance().getAsynchronousExecutor().schedule(() -> this.startService().whenComplete((service, throwable) -> {
+            this.replacing.decrementAndGet();
+            if (throwable != null) this.failures.incrementAndGet();
+            this.replenish();
+        }), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * only template groups keep warm services, a prepared copy of a static group would be stale
+     * once another service has saved, and its old files would overwrite the newer ones on the master.
+     */
+    @Override
+    public void refill() {
+        if (this.closed || !this.cloudGroup.isTemplate()) return;
+        final var starter = RustCloud.getCloud().getServiceStarter();
+        int current;
+        while ((current = this.warming.get()) < this.cloudGroup.getWarmServices()) {
+            if (!this.warming.compareAndSet(current, current + 1)) continue;
+            final var future = starter.prepare(this, this.counter.incrementAndGet());
+            if (this.cloudGroup.isWarmProcesses()) {
+                future.thenCompose(starter::launch).whenComplete((service, throwable) -> {
+                    if (throwable != null) this.warming.decrementAndGet();
+                        else if (this.closed) service.stop(this.getStopTimeout(), TimeUnit.SECONDS);
+                        else this.standby.add(service);
+                });
             } else {
-                int port = searchPort();
-                processBuilder = new ProcessBuilder(("java -jar -Xms" + this.cloudGroup.getMemory() + "M -Xmx" + this.cloudGroup.getMemory() + "M -Dcom.mojang.eula.agree=true runner.jar nogui --online-mode false --max-players " + this.cloudGroup.getMaxPlayersPer() + " --noconsole --port " + port).split(" "));
-                RustCloud.getCloud().getCloudConsole().send("Starting §b" + this.cloudGroup.getName() + " §ron port " + port + ".");
-            }
-            processBuilder.directory(file);
-            Process process = null;
-            try {
-                process = processBuilder.start();
-                process.waitFor();
-            } catch (IOException | InterruptedException e) {
-                e.printStackTrace();
+                future.whenComplete((service, throwable) -> {
+                    if (throwable == null) this.prepared.add(service);
+                        else this.warming.decrementAndGet();
+                });
             }
-            this.services.addLast(new DefaultOnlineServiceImpl(process, this, count));
         }
     }
 
+    /**
+     * stops the running and the warm services in parallel, prepared directories are kept for the next start.
+     *
+     * @return a future which is completed once every process has exited.
+     */
+    protected CompletableFuture<Void> stopServices() {
+        this.closed = true;
+        final long timeout = this.getStopTimeout();
+        final List<CompletableFuture<Void>> pending = new ArrayList<>();
+        INativeOnlineService service;
+        while ((service = this.standby.poll()) != null) {
+            this.warming.decrementAndGet();
+            pending.add(service.stop(timeout, TimeUnit.SECONDS));
+        }
+        for (INativeOnlineService running : this.services) {
+            pending.add(running.stop(timeout, TimeUnit.SECONDS));
+        }
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * called once a service of the group has exited, no matter if it was stopped or has crashed.
+     */
+    protected void onExit(INativeOnlineService service) {
+    }
+
+    /*
+     * groups which were stored before the timeout existed have none.
+     */
+    private long getStopTimeout() {
+        return this.cloudGroup.getStopTimeout() > 0 ? this.cloudGroup.getStopTimeout() : DEFAULT_STOP_TIMEOUT;
+    }
+
     @Override
-    public abstract void shutdown();
+    public abstract CompletableFuture<Void> shutdown();
 
+    @Override
     public abstract String getPath();
 
     @Override
@@ -86,16 +210,14 @@ public abstract class Group implements IOnlineGroup {
         return this.cloudGroup;
     }
 
-    protected int searchPort() {
-        int port = 0;
-        try {
-            ServerSocket socket = new ServerSocket(0);
-            port = socket.getLocalPort();
-            socket.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        return port;
+    @Override
+    public List<INativeOnlineService> getServices() {
+        return this.services;
+    }
+
+    @Override
+    public LatencyHistogram getStartLatency() {
+        return this.startLatency;
     }
 
 }
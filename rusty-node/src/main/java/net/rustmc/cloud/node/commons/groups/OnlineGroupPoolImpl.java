@@ -3,12 +3,13 @@ package net.rustmc.cloud.node.commons.groups;
 import net.rustmc.cloud.node.groups.IOnlineGroup;
 import net.rustmc.cloud.node.groups.IOnlineGroupPool;
 
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class OnlineGroupPoolImpl implements IOnlineGroupPool {
 
-    private final LinkedList<IOnlineGroup> groups = new LinkedList<>();
+    /* the handlers register groups while the sampler and the connection manager iterate them */
+    private final CopyOnWriteArrayList<IOnlineGroup> groups = new CopyOnWriteArrayList<>();
 
     @Override
     public List<IOnlineGroup> getOnlineGroups() {
@@ -17,7 +18,12 @@ public class OnlineGroupPoolImpl implements IOnlineGroupPool {
 
     @Override
     public void register(IOnlineGroup onlineGroup) {
-        this.groups.addLast(onlineGroup);
+        this.groups.add(onlineGroup);
+    }
+
+    @Override
+    public void unregister(IOnlineGroup onlineGroup) {
+        this.groups.remove(onlineGroup);
     }
 
 }
@@ -1,24 +1,71 @@
 package net.rustmc.cloud.node.commons.groups.types;
 
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.console.ICloudConsole;
 import net.rustmc.cloud.base.objects.SimpleCloudGroup;
+import net.rustmc.cloud.base.packets.input.transfer.PacketInStaticSave;
+import net.rustmc.cloud.base.service.ServiceState;
+import net.rustmc.cloud.base.util.DirectoryManifest;
+import net.rustmc.cloud.base.util.ZipHelper;
+import net.rustmc.cloud.node.RustCloud;
 import net.rustmc.cloud.node.commons.groups.Group;
 import net.rustmc.cloud.node.service.INativeOnlineService;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 public class StaticGroupImpl extends Group {
 
+    /* files the node puts into the service itself or the server downloads again */
+    private static final Set<String> EXCLUDED = Set.of("runner.jar", "cache", "libraries", "versions", "logs");
+    private static final Predicate<String> FILTER = path -> !EXCLUDED.contains(path.split("/", 2)[0]);
+    /* the seconds a running server gets to write its worlds after save-all */
+    private static final long SAVE_DELAY = 5;
+    /* the seconds the transfer of a save and the answer of the master may take each */
+    public static final long SAVE_TIMEOUT = TimeUnit.MINUTES.toSeconds(2);
+
+    private final Map<String, CompletableFuture<Void>> saving = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> saveTask;
+
     public StaticGroupImpl(SimpleCloudGroup cloudGroup) {
         super(cloudGroup);
     }
 
     @Override
-    public void shutdown() {
-        /* todo: save data */
-        for (INativeOnlineService service : this.services) {
-            service.shutdown();
-        }
+    public CompletableFuture<Void> start() {
+        final int interval = RustCloud.getCloud().getConfiguration().getSaveInterval();
+        if (interval > 0 && this.saveTask == null)
+            this.saveTask = Rust.getInstance().getAsynchronousExecutor().scheduleWithFixedDelay(this::saveRunning, interval, interval, TimeUnit.SECONDS);
+        return super.start();
+    }
+
+    /**
+     * stops the services and saves their last state back to the master.
+     */
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        if (this.saveTask != null) this.saveTask.cancel(false);
+        final List<INativeOnlineService> services = List.copyOf(this.services);
+        return this.stopServices().thenCompose(ignored -> CompletableFuture.allOf(services.stream()
+                .map(service -> this.save(service).exceptionally(throwable -> null))
+                .toArray(CompletableFuture[]::new)));
+    }
+
+    @Override
+    protected void onExit(INativeOnlineService service) {
+        this.save(service);
     }
 
     @Override
@@ -26,4 +73,91 @@ public class StaticGroupImpl extends Group {
         return "statics//" + this.cloudGroup.getName();
     }
 
+    private void saveRunning() {
+        for (INativeOnlineService service : this.services) {
+            if (service.getState() != ServiceState.READY) continue;
+            if (!this.cloudGroup.isProxy()) service.command("save-all flush");
+            Rust.getInstance().getAsynchronousExecutor().schedule(() -> this.save(service), SAVE_DELAY, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * sends the files the service has changed since the last save to the master, a save which is still running is joined.
+     */
+    public CompletableFuture<Void> save(INativeOnlineService service) {
+        final CompletableFuture<Void> created = new CompletableFuture<>();
+        final CompletableFuture<Void> running = this.saving.putIfAbsent(service.getName(), created);
+        if (running != null) return running;
+        /* hashing and zipping block, so they run on the storage executor instead of the shared scheduler */
+        try {
+            RustCloud.getCloud().getStorageExecutor().execute(() -> {
+                try {
+                    this.saveChanges(service).whenComplete((ignored, throwable) -> {
+                        if (throwable == null) created.complete(null);
+                            else created.completeExceptionally(throwable);
+                    });
+                } catch (IOException | RuntimeException e) {
+                    created.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            created.completeExceptionally(e);
+        }
+        created.whenComplete((ignored, throwable) -> {
+            this.saving.remove(service.getName(), created);
+            if (throwable == null) return;
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            RustCloud.getCloud().getCloudConsole().send("the data of §c" + service.getName() + " §rcould not be saved (§c" + cause.getMessage() + "§r).", ICloudConsole.Output.ERROR);
+        });
+        return created;
+    }
+
+    /*
+     * the local copy of the group is what the master has as well, so the difference to it is what has to be sent.
+     * once the master has applied the changes, the same archive is applied to the local copy.
+     */
+    private CompletableFuture<Void> saveChanges(INativeOnlineService service) throws IOException {
+        final String name = service.getName();
+        final Path root = service.getDirectory();
+        final Path local = Path.of(this.getPath());
+        final DirectoryManifest current = DirectoryManifest.refresh(root, new File("temp//manifests//service-" + name + ".manifest"), FILTER);
+        final DirectoryManifest saved = DirectoryManifest.refresh(local, new File("temp//manifests//statics-" + this.cloudGroup.getName() + ".manifest")).filter(FILTER);
+        final List<String> changed = current.changed(saved);
+        final List<String> removed = current.removed(saved);
+        if (changed.isEmpty() && removed.isEmpty()) return CompletableFuture.completedFuture(null);
+        final var channel = RustCloud.getCloud().getCommunicateBaseChannel();
+        final Path archive = Path.of("temp", "saves", name + ".zip");
+        final CompletableFuture<Void> transferred;
+        if (changed.isEmpty()) {
+            transferred = CompletableFuture.completedFuture(null);
+        } else {
+            Files.createDirectories(archive.getParent());
+            ZipHelper.zipFiles(root, changed, archive, this.cloudGroup.getCompressionLevel(), Rust.getInstance().getWorkerExecutor());
+            transferred = channel.transfer(archive.toFile(), "temp//saves//" + name + ".zip").orTimeout(SAVE_TIMEOUT, TimeUnit.SECONDS);
+        }
+        return transferred
+                .thenCompose(ignored -> channel.request(new PacketInStaticSave(this.cloudGroup.getName(), name, !changed.isEmpty(), removed.toArray(String[]::new)), SAVE_TIMEOUT, TimeUnit.SECONDS))
+                .thenAcceptAsync(response -> {
+                    if (!response.isApplied())
+                        throw new IllegalStateException("The master has not applied the changes.");
+                    try {
+                        if (!changed.isEmpty()) ZipHelper.unzip(archive, local, Rust.getInstance().getWorkerExecutor());
+                        final Path base = local.toAbsolutePath().normalize();
+                        for (String path : removed) {
+                            final Path file = base.resolve(path).normalize();
+                            if (file.startsWith(base)) Files.deleteIfExists(file);
+                        }
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                    RustCloud.getCloud().getCloudConsole().send("saved §a" + (changed.size() + removed.size()) + " §rchanged files of §a" + name + " §rto the master.");
+                }, RustCloud.getCloud().getStorageExecutor())
+                .whenComplete((ignored, throwable) -> {
+                    try {
+                        Files.deleteIfExists(archive);
+                    } catch (IOException ignoredException) {
+                    }
+                });
+    }
+
 }
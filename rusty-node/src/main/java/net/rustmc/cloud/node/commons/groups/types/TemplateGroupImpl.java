@@ -5,10 +5,9 @@ import net.rustmc.cloud.base.objects.SimpleCloudGroup;
 import net.rustmc.cloud.base.util.FileHelper;
 import net.rustmc.cloud.node.RustCloud;
 import net.rustmc.cloud.node.commons.groups.Group;
-import net.rustmc.cloud.node.service.INativeOnlineService;
 
 import java.io.File;
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public class TemplateGroupImpl extends Group {
 
@@ -17,10 +16,8 @@ public class TemplateGroupImpl extends Group {
     }
 
     @Override
-    public void shutdown() {
-        for (INativeOnlineService service : this.services) {
-            service.shutdown();
-        }
+    public CompletableFuture<Void> shutdown() {
+        return this.stopServices();
     }
 
     @Override
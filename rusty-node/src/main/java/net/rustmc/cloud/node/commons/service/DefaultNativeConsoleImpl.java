@@ -1,8 +1,11 @@
 package net.rustmc.cloud.node.commons.service;
 
+import net.rustmc.cloud.base.console.ICloudConsole;
 import net.rustmc.cloud.node.service.INativeCachedConsole;
 
-import java.util.LinkedList;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -13,16 +16,56 @@ import java.util.List;
  */
 public class DefaultNativeConsoleImpl implements INativeCachedConsole {
 
-    private final LinkedList<String> lines = new LinkedList<>();
+    /* longer lines are cut, a single broken line must not take the memory of the whole console */
+    public static final int MAX_LINE_LENGTH = 4096;
+
+    private final byte[][] lines;
+    private final ICloudConsole.Output[] outputs;
+    private int head;
+    private int size;
+
+    public DefaultNativeConsoleImpl(int capacity) {
+        this.lines = new byte[Math.max(1, capacity)][];
+        this.outputs = new ICloudConsole.Output[this.lines.length];
+    }
 
     @Override
     public List<String> getLines() {
-        return this.lines;
+        return this.getLines(null);
+    }
+
+    @Override
+    public synchronized List<String> getLines(ICloudConsole.Output output) {
+        final List<String> out = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            final int index = (this.head + i) % this.lines.length;
+            if (output == null || this.outputs[index] == output)
+                out.add(new String(this.lines[index], StandardCharsets.UTF_8));
+        }
+        return out;
     }
 
     @Override
     public void register(String line) {
-        this.lines.addLast(line);
+        final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        this.register(bytes, bytes.length, ICloudConsole.Output.INFO);
+    }
+
+    @Override
+    public void register(byte[] line, int length, ICloudConsole.Output output) {
+        final byte[] copy = Arrays.copyOf(line, Math.min(length, MAX_LINE_LENGTH));
+        synchronized (this) {
+            final int index = (this.head + this.size) % this.lines.length;
+            this.lines[index] = copy;
+            this.outputs[index] = output;
+            if (this.size < this.lines.length) this.size++;
+                else this.head = (this.head + 1) % this.lines.length;
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return this.lines.length;
     }
 
 }
@@ -2,14 +2,22 @@ package net.rustmc.cloud.node.commons.service;
 
 import lombok.Getter;
 import net.rustmc.cloud.base.common.Rust;
-import net.rustmc.cloud.node.commons.groups.Group;
+import net.rustmc.cloud.base.console.ICloudConsole;
+import net.rustmc.cloud.base.service.ServiceState;
+import net.rustmc.cloud.node.RustCloud;
 import net.rustmc.cloud.node.groups.IOnlineGroup;
 import net.rustmc.cloud.node.service.INativeCachedConsole;
 import net.rustmc.cloud.node.service.INativeOnlineService;
+import net.rustmc.cloud.node.service.PreparedService;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -20,41 +28,135 @@ import java.util.HashMap;
 @Getter
 public class DefaultOnlineServiceImpl implements INativeOnlineService {
 
+    /* the milliseconds between sigterm and sigkill */
+    private static final long KILL_DELAY = 10_000;
+
     @Getter
     public static HashMap<String, INativeOnlineService> onlineServices = new HashMap<>();
 
     private final Process process;
     private final IOnlineGroup group;
     private final int count;
-    private final INativeCachedConsole console = new DefaultNativeConsoleImpl();
+    private final int port;
+    private final Path directory;
+    private final INativeCachedConsole console = new DefaultNativeConsoleImpl(RustCloud.getCloud().getConfiguration().getConsoleLines());
+    private final Pattern readyPattern;
+    private final long startedAt = System.nanoTime();
+    private final CompletableFuture<INativeOnlineService> readiness = new CompletableFuture<>();
+    private final AtomicReference<ServiceState> state = new AtomicReference<>(ServiceState.STARTING);
 
-    public DefaultOnlineServiceImpl(Process process, Group group, int count) {
+    public DefaultOnlineServiceImpl(Process process, PreparedService service, int port, Pattern readyPattern) {
         this.process = process;
-        this.group = group;
-        this.count = count;
-        Rust.getInstance().getAsynchronousExecutor().submit(() -> {
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String line;
-            while (true) {
-                try {
-                    if ((line = reader.readLine()) == null) break;
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+        this.group = service.group();
+        this.count = service.id();
+        this.directory = service.directory();
+        this.port = port;
+        this.readyPattern = readyPattern;
+        process.onExit().thenRun(() -> {
+            this.state.set(ServiceState.STOPPED);
+            this.readiness.completeExceptionally(new IllegalStateException("The process has exited with " + process.exitValue() + "."));
+        });
+        this.capture(process.getInputStream(), ICloudConsole.Output.INFO, "output");
+        this.capture(process.getErrorStream(), ICloudConsole.Output.ERROR, "error");
+    }
+
+    /**
+     * reads the stream on its own thread, as the reads block as long as the service runs.
+     * the lines are split on the raw bytes and stored without decoding them.
+     */
+    private void capture(InputStream stream, ICloudConsole.Output output, String name) {
+        final Thread thread = new Thread(() -> {
+            final byte[] buffer = new byte[8192];
+            final byte[] line = new byte[DefaultNativeConsoleImpl.MAX_LINE_LENGTH];
+            int length = 0;
+            try (stream) {
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    for (int i = 0; i < read; i++) {
+                        final byte value = buffer[i];
+                        if (value == '\n') {
+                            if (length > 0 && line[length - 1] == '\r') length--;
+                            this.console.register(line, length, output);
+                            /* only the lines of a starting service are decoded for the probe */
+                            if (this.state.get() == ServiceState.STARTING && this.readyPattern.matcher(new String(line, 0, length, StandardCharsets.UTF_8)).find())
+                                this.markReady();
+                            length = 0;
+                        } else if (length < line.length) line[length++] = value;
+                    }
                 }
-                console.register(line);
+                if (length > 0) this.console.register(line, length, output);
+            } catch (IOException ignored) {
+                /* the stream is closed together with the process */
             }
-        });
+        }, this.getName() + "-" + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * moves the service from starting to ready, once the console or the port has shown that it accepts players.
+     */
+    public void markReady() {
+        if (this.state.compareAndSet(ServiceState.STARTING, ServiceState.READY))
+            this.readiness.complete(this);
+    }
+
+    /**
+     * @return a future which is completed once the service is ready, it fails if the process exits before.
+     */
+    public CompletableFuture<INativeOnlineService> getReadiness() {
+        return this.readiness;
+    }
+
+    /**
+     * @return the nanoseconds between the start of the process and now.
+     */
+    public long getUptime() {
+        return System.nanoTime() - this.startedAt;
+    }
+
+    @Override
+    public ServiceState getState() {
+        return this.state.get();
     }
 
     @Override
     public void shutdown() {
-        try {
-            this.process.getOutputStream().write("stop".getBytes(StandardCharsets.UTF_8));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        } finally {
-            this.process.destroy();
+        this.stop(this.group.getObject().getStopTimeout(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * asks the server to stop, so it can save its worlds. if it is still running after the timeout it is terminated,
+     * and killed if it has not reacted to that either after a few more seconds.
+     */
+    @Override
+    public CompletableFuture<Void> stop(long timeout, TimeUnit unit) {
+        final CompletableFuture<Void> exit = this.onExit();
+        if (this.state.getAndUpdate(current -> current == ServiceState.STOPPED ? current : ServiceState.STOPPING) != ServiceState.STOPPED) {
+            /* velocity and bungeecord are stopped with end */
+            final String command = this.group.getObject().isProxy() ? "end" : "stop";
+            try {
+                final OutputStream out = this.process.getOutputStream();
+                out.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            } catch (IOException e) {
+                this.process.destroy();
+            }
+            final var executor = Rust.getInstance().getAsynchronousExecutor();
+            final long millis = unit.toMillis(timeout);
+            final var terminate = executor.schedule(this.process::destroy, millis, TimeUnit.MILLISECONDS);
+            final var kill = executor.schedule(this.process::destroyForcibly, millis + KILL_DELAY, TimeUnit.MILLISECONDS);
+            exit.whenComplete((ignored, throwable) -> {
+                terminate.cancel(false);
+                kill.cancel(false);
+            });
         }
+        return exit;
+    }
+
+    @Override
+    public CompletableFuture<Void> onExit() {
+        return this.process.onExit().thenApply(process -> null);
     }
 
     @Override
@@ -65,7 +167,9 @@ public class DefaultOnlineServiceImpl implements INativeOnlineService {
     @Override
     public void command(String command) {
         try {
-            this.process.getOutputStream().write(command.getBytes(StandardCharsets.UTF_8));
+            final OutputStream out = this.process.getOutputStream();
+            out.write((command + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -90,4 +194,15 @@ public class DefaultOnlineServiceImpl implements INativeOnlineService {
     public INativeCachedConsole getServiceConsole() {
         return this.console;
     }
+
+    @Override
+    public boolean isAlive() {
+        return this.process.isAlive();
+    }
+
+    @Override
+    public ProcessHandle getProcessHandle() {
+        return this.process.toHandle();
+    }
+
 }
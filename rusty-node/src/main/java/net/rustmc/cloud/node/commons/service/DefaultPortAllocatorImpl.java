@@ -0,0 +1,125 @@
+package net.rustmc.cloud.node.commons.service;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import net.rustmc.cloud.node.service.IPortAllocator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class DefaultPortAllocatorImpl implements IPortAllocator {
+
+    private static final long CHECK_INTERVAL = 30;
+
+    private final int start;
+    private final int end;
+    private final Map<Integer, String> leases = new HashMap<>();
+    /* ports of the range which are bound by processes the node does not know */
+    private final BitSet foreign;
+    /* binding the whole range takes a while, so it must not hold up the stop escalation and the reconnects on the asynchronous thread */
+    private final ScheduledExecutorService checks = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("rusty-port-check", true));
+    private int cursor;
+
+    public DefaultPortAllocatorImpl(int start, int end) {
+        if (start <= 0 || end > 65535 || start > end)
+            throw new IllegalArgumentException("The port range " + start + "-" + end + " is not valid.");
+        this.start = start;
+        this.end = end;
+        this.foreign = new BitSet(end - start + 1);
+        this.checks.scheduleWithFixedDelay(this::check, 0, CHECK_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * the ports are handed out round robin, so a port which has just been released is not reused at once.
+     */
+    @Override
+    public synchronized int lease(String service) {
+        final int size = this.end - this.start + 1;
+        for (int i = 0; i < size; i++) {
+            final int index = (this.cursor + i) % size;
+            final int port = this.start + index;
+            if (this.leases.containsKey(port) || this.foreign.get(index)) continue;
+            /* the background check may be outdated, so the port is tested once more before it is handed out */
+            if (!available(port)) {
+                this.foreign.set(index);
+                continue;
+            }
+            this.cursor = index + 1;
+            this.leases.put(port, service);
+            return port;
+        }
+        throw new IllegalStateException("There is no free port left between " + this.start + " and " + this.end + ".");
+    }
+
+    @Override
+    public synchronized int lease(String service, int port) {
+        final String owner = this.leases.get(port);
+        if (owner != null)
+            throw new IllegalStateException("The port " + port + " is already leased to " + owner + ".");
+        if (!available(port))
+            throw new IllegalStateException("The port " + port + " is already bound by another process.");
+        this.leases.put(port, service);
+        return port;
+    }
+
+    @Override
+    public synchronized void release(int port) {
+        this.leases.remove(port);
+    }
+
+    @Override
+    public synchronized String getLease(int port) {
+        return this.leases.get(port);
+    }
+
+    @Override
+    public synchronized int getAvailablePorts() {
+        int leased = 0;
+        for (int port : this.leases.keySet()) {
+            if (port >= this.start && port <= this.end && !this.foreign.get(port - this.start)) leased++;
+        }
+        return this.end - this.start + 1 - this.foreign.cardinality() - leased;
+    }
+
+    @Override
+    public void close() {
+        this.checks.shutdownNow();
+    }
+
+    /*
+     * binds every port which is not leased, the sockets are opened outside of the lock.
+     */
+    private void check() {
+        final BitSet busy = new BitSet(this.end - this.start + 1);
+        for (int port = this.start; port <= this.end; port++) {
+            if (this.getLease(port) == null && !available(port)) busy.set(port - this.start);
+        }
+        synchronized (this) {
+            this.foreign.clear();
+            this.foreign.or(busy);
+        }
+    }
+
+    private static boolean available(int port) {
+        try (ServerSocket socket = new ServerSocket()) {
+            socket.setReuseAddress(true);
+            socket.bind(new InetSocketAddress(port));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+}
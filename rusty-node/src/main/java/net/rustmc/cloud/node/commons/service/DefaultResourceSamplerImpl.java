@@ -0,0 +1,177 @@
+package net.rustmc.cloud.node.commons.service;
+
+import com.sun.management.OperatingSystemMXBean;
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.packets.input.node.PacketInNodeResources;
+import net.rustmc.cloud.base.service.ServiceState;
+import net.rustmc.cloud.node.RustCloud;
+import net.rustmc.cloud.node.groups.IOnlineGroup;
+import net.rustmc.cloud.node.service.INativeOnlineService;
+import net.rustmc.cloud.node.service.IResourceSampler;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class DefaultResourceSamplerImpl implements IResourceSampler {
+
+    /* every n-th sample is sent in full, so the master recovers from a lost packet */
+    private static final int FULL_EVERY = 12;
+    /* the unit of the cpu times in /proc, which is 100 on every common linux */
+    private static final long CLOCK_TICKS = 100;
+    private static final long PAGE_SIZE = 4096;
+    private static final int CPU_THRESHOLD = 10;
+    private static final int MEMORY_THRESHOLD = 16;
+    private static final int LOAD_THRESHOLD = 5;
+    private static final int PING_TIMEOUT = 1000;
+
+    private final int interval;
+    private final OperatingSystemMXBean bean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final String operatingSystem = System.getProperty("os.name") + " " + System.getProperty("os.version") + " (" + System.getProperty("os.arch") + ")";
+    private final boolean procfs = Files.isDirectory(Path.of("/proc/self"));
+
+    /* these maps are only touched by the sampling task, which runs on the single asynchronous thread */
+    private final Map<String, Usage> previous = new HashMap<>();
+    private final Map<String, PacketInNodeResources.Sample> sent = new HashMap<>();
+    /* the pings run on the workers, a sample sends the players of the last answer */
+    private final Map<String, Integer> players = new ConcurrentHashMap<>();
+    private final Set<String> pinging = ConcurrentHashMap.newKeySet();
+    private int sentLoad = -1;
+    private int sentFreeMemory = -1;
+    private int sentAvailableMemory = -1;
+    private int samples;
+    private volatile boolean fullRequested = true;
+    private ScheduledFuture<?> task;
+
+    public DefaultResourceSamplerImpl(int interval) {
+        this.interval = interval;
+    }
+
+    @Override
+    public void start() {
+        if (this.interval <= 0 || this.task != null) return;
+        this.task = Rust.getInstance().getAsynchronousExecutor().scheduleWithFixedDelay(this::sample, this.interval, this.interval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void requestFull() {
+        this.fullRequested = true;
+    }
+
+    @Override
+    public void close() {
+        if (this.task != null) this.task.cancel(false);
+    }
+
+    private void sample() {
+        final var channel = RustCloud.getCloud().getCommunicateBaseChannel();
+        if (channel == null || !channel.origin().isActive()) return;
+        final boolean full = this.fullRequested || ++this.samples >= FULL_EVERY;
+        if (full) {
+            this.fullRequested = false;
+            this.samples = 0;
+        }
+        final long now = System.nanoTime();
+        final List<PacketInNodeResources.Sample> changed = new ArrayList<>();
+        final Set<String> alive = new HashSet<>();
+        for (IOnlineGroup group : RustCloud.getCloud().getOnlineGroupPool().getOnlineGroups()) {
+            for (INativeOnlineService service : group.getServices()) {
+                final ProcessHandle handle = service.getProcessHandle();
+                if (!handle.isAlive()) continue;
+                alive.add(service.getName());
+                final Usage usage = this.read(handle, now);
+                final Usage last = this.previous.put(service.getName(), usage);
+                final int cpu = last == null || last.pid() != usage.pid() || now == last.time() ? 0
+                        : (int) ((usage.cpu() - last.cpu()) * 1000 / (now - last.time()));
+                if (service.getState() == ServiceState.READY) this.ping(service);
+                final PacketInNodeResources.Sample sample = new PacketInNodeResources.Sample(service.getName(), Math.max(0, cpu), usage.memory(), usage.threads(), this.players.getOrDefault(service.getName(), 0));
+                if (full || differs(this.sent.get(service.getName()), sample)) {
+                    changed.add(sample);
+                    this.sent.put(service.getName(), sample);
+                }
+            }
+        }
+        final List<String> removed = new ArrayList<>();
+        for (String name : this.sent.keySet()) {
+            if (!alive.contains(name)) removed.add(name);
+        }
+        this.sent.keySet().removeAll(removed);
+        this.previous.keySet().retainAll(alive);
+        this.players.keySet().retainAll(alive);
+
+        final int load = (int) Math.max(0, Math.round(this.bean.getSystemLoadAverage() * 100));
+        final int freeMemory = (int) (this.bean.getFreeMemorySize() / (1024 * 1024));
+        final int availableMemory = RustCloud.getCloud().getServiceStarter().getAvailableMemory();
+        if (!full && changed.isEmpty() && removed.isEmpty() && availableMemory == this.sentAvailableMemory
+                && Math.abs(load - this.sentLoad) < LOAD_THRESHOLD && Math.abs(freeMemory - this.sentFreeMemory) < MEMORY_THRESHOLD)
+            return;
+        this.sentLoad = load;
+        this.sentFreeMemory = freeMemory;
+        this.sentAvailableMemory = availableMemory;
+        channel.dispatch(new PacketInNodeResources(full, load, Runtime.getRuntime().availableProcessors(), freeMemory,
+                (int) (this.bean.getTotalMemorySize() / (1024 * 1024)), availableMemory, this.operatingSystem,
+                changed.toArray(PacketInNodeResources.Sample[]::new), removed.toArray(String[]::new)));
+    }
+
+    private void ping(INativeOnlineService service) {
+        if (!this.pinging.add(service.getName())) return;
+        Rust.getInstance().getWorkerExecutor().execute(() -> {
+            try {
+                this.players.put(service.getName(), ServerListPing.players(service.getPort(), PING_TIMEOUT));
+            } catch (IOException ignored) {
+            } finally {
+                this.pinging.remove(service.getName());
+            }
+        });
+    }
+
+    /*
+     * /proc/<pid>/stat carries the cpu time, the threads and the resident pages in one read,
+     * without it only the cpu time is known through the process handle.
+     */
+    private Usage read(ProcessHandle handle, long now) {
+        if (this.procfs) {
+            try {
+                final String stat = new String(Files.readAllBytes(Path.of("/proc", String.valueOf(handle.pid()), "stat")), StandardCharsets.US_ASCII);
+                /* the name of the process is in brackets and may contain spaces, the fields after it start with the state */
+                final String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+                final long ticks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+                return new Usage(handle.pid(), ticks * (1_000_000_000L / CLOCK_TICKS), now,
+                        (int) (Long.parseLong(fields[21]) * PAGE_SIZE / (1024 * 1024)), Integer.parseInt(fields[17]));
+            } catch (IOException | RuntimeException ignored) {
+            }
+        }
+        final long cpu = handle.info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+        return new Usage(handle.pid(), cpu, now, 0, 0);
+    }
+
+    private static boolean differs(PacketInNodeResources.Sample sent, PacketInNodeResources.Sample sample) {
+        return sent == null
+                || Math.abs(sent.cpu() - sample.cpu()) >= CPU_THRESHOLD
+                || Math.abs(sent.memory() - sample.memory()) >= MEMORY_THRESHOLD
+                || sent.threads() != sample.threads()
+                || sent.players() != sample.players();
+    }
+
+    private record Usage(long pid, long cpu, long time, int memory, int threads) {
+    }
+
+}
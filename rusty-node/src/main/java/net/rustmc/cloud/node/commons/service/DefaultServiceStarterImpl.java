@@ -0,0 +1,245 @@
+package net.rustmc.cloud.node.commons.service;
+
+import com.sun.management.OperatingSystemMXBean;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.console.ICloudConsole;
+import net.rustmc.cloud.base.objects.SimpleCloudGroup;
+import net.rustmc.cloud.base.util.FileHelper;
+import net.rustmc.cloud.node.RustCloud;
+import net.rustmc.cloud.node.configurations.RustyNodeConfiguration;
+import net.rustmc.cloud.node.groups.IOnlineGroup;
+import net.rustmc.cloud.node.service.INativeOnlineService;
+import net.rustmc.cloud.node.service.IPortAllocator;
+import net.rustmc.cloud.node.service.IServiceStarter;
+import net.rustmc.cloud.node.service.PreparedService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class DefaultServiceStarterImpl implements IServiceStarter {
+
+    private static final int PROXY_PORT = 25565;
+    private static final long PROBE_INTERVAL = 500;
+
+    private final ExecutorService executor;
+    /* the probes run on their own thread, so they go on while every start waits for a free slot */
+    private final ScheduledExecutorService probes = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("rusty-service-probe", true));
+    /* the services which may still boot and the launches waiting for one of them, both guarded by the queue */
+    private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int slots;
+    private final int memory;
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final long timeout;
+    private final Pattern readyPattern;
+    private final IPortAllocator portAllocator;
+
+    public DefaultServiceStarterImpl(RustyNodeConfiguration configuration, IPortAllocator portAllocator) {
+        this.portAllocator = portAllocator;
+        final int parallel = Math.max(1, configuration.getParallelStarts());
+        this.executor = Executors.newFixedThreadPool(parallel, new DefaultThreadFactory("rusty-service-start", true));
+        this.slots = parallel;
+        this.memory = configuration.getMaxMemory() > 0 ? configuration.getMaxMemory() : physicalMemory();
+        this.timeout = TimeUnit.SECONDS.toMillis(configuration.getStartTimeout());
+        this.readyPattern = Pattern.compile(configuration.getReadyPattern());
+    }
+
+    @Override
+    public CompletableFuture<INativeOnlineService> start(IOnlineGroup group, int id) {
+        return this.prepare(group, id).thenCompose(this::launch);
+    }
+
+    @Override
+    public CompletableFuture<PreparedService> prepare(IOnlineGroup group, int id) {
+        final PreparedService service = new PreparedService(group, id, Path.of("temp", group.getObject().getName(), group.getObject().getName() + "-" + id));
+        final CompletableFuture<PreparedService> future = CompletableFuture.supplyAsync(() -> {
+            this.prepare(group, service.directory());
+            return service;
+        }, this.executor);
+        future.whenComplete((prepared, throwable) -> {
+            if (throwable != null) this.failed(service, throwable);
+        });
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<INativeOnlineService> launch(PreparedService service) {
+        final SimpleCloudGroup object = service.group().getObject();
+        if (!this.reserve(object.getMemory()))
+            return CompletableFuture.failedFuture(new IllegalStateException("There is not enough memory left on the node to start " + service.getName() + "."));
+        /* the launch waits for a slot without a thread, so the pool goes on preparing while services boot */
+        final CompletableFuture<DefaultOnlineServiceImpl> spawned = this.acquire()
+                .thenApplyAsync(ignored -> this.spawn(service), this.executor);
+        /* once the process is running, its exit releases the memory */
+        spawned.exceptionally(throwable -> {
+            this.release(object.getMemory());
+            return null;
+        });
+        final CompletableFuture<INativeOnlineService> future = spawned.thenCompose(this::awaitReady);
+        future.whenComplete((ready, throwable) -> {
+            if (throwable != null) this.failed(service, throwable);
+        });
+        return future;
+    }
+
+    private void failed(PreparedService service, Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        RustCloud.getCloud().getCloudConsole().send("the service §c" + service.getName() + " §rcould not be started (§c" + cause.getMessage() + "§r).", ICloudConsole.Output.ERROR);
+    }
+
+    /*
+     * static groups keep the files of their last run, template groups start from a clean copy.
+     */
+    private void prepare(IOnlineGroup group, Path directory) {
+        try {
+            if (group.getObject().isTemplate()) FileHelper.delete(directory);
+            final boolean link = RustCloud.getCloud().getConfiguration().isLinkReadOnly();
+            FileHelper.copyDir(Path.of(group.getPath()), directory, link, Rust.getInstance().getWorkerExecutor());
+            FileHelper.copyFile((group.getObject().isProxy() ? RustCloud.getCloud().getProxyFile() : RustCloud.getCloud().getPaperFile()).toPath(), directory.resolve("runner.jar"), link);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * runs once the service has got a slot, the port is only leased then, so no port is held while it waits.
+     */
+    private DefaultOnlineServiceImpl spawn(PreparedService service) {
+        final SimpleCloudGroup object = service.group().getObject();
+        final int port;
+        try {
+            port = object.isProxy() ? this.portAllocator.lease(service.getName(), PROXY_PORT) : this.portAllocator.lease(service.getName());
+        } catch (RuntimeException e) {
+            this.releaseSlot();
+            throw e;
+        }
+        final List<String> command = new ArrayList<>(List.of("java", "-Xms" + object.getMemory() + "M", "-Xmx" + object.getMemory() + "M"));
+        if (object.isProxy()) {
+            command.addAll(List.of("-jar", "runner.jar"));
+        } else {
+            command.addAll(List.of("-Dcom.mojang.eula.agree=true", "-jar", "runner.jar", "nogui", "--online-mode", "false", "--max-players", String.valueOf(object.getMaxPlayersPer()), "--port", String.valueOf(port)));
+        }
+        try {
+            final Process process = new ProcessBuilder(command).directory(service.directory().toFile()).start();
+            process.onExit().thenRun(() -> {
+                this.release(object.getMemory());
+                this.portAllocator.release(port);
+            });
+            RustCloud.getCloud().getCloudConsole().send("starting §b" + service.getName() + " §ron port " + port + ".");
+            return new DefaultOnlineServiceImpl(process, service, port, this.readyPattern);
+        } catch (IOException e) {
+            this.releaseSlot();
+            this.portAllocator.release(port);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * probes the port of the service until it accepts connections, the console of the service is probed by its reader.
+     * the service fails if the process exits or the start timeout has passed before.
+     */
+    private CompletableFuture<INativeOnlineService> awaitReady(DefaultOnlineServiceImpl service) {
+        final long deadline = System.currentTimeMillis() + this.timeout;
+        final var task = this.probes.scheduleWithFixedDelay(() -> {
+            if (accepts(service.getPort())) {
+                service.markReady();
+            } else if (System.currentTimeMillis() > deadline) {
+                service.getReadiness().completeExceptionally(new TimeoutException("The service has not opened its port in time."));
+                service.getProcess().destroyForcibly();
+            }
+        }, PROBE_INTERVAL, PROBE_INTERVAL, TimeUnit.MILLISECONDS);
+        return service.getReadiness().whenComplete((ready, throwable) -> {
+            task.cancel(false);
+            this.releaseSlot();
+            if (throwable == null) service.getGroup().getStartLatency().record(TimeUnit.NANOSECONDS.toMillis(service.getUptime()));
+        });
+    }
+
+    /**
+     * only the configured amount of services boots at the same time, the others wait in order for a slot.
+     */
+    private CompletableFuture<Void> acquire() {
+        synchronized (this.waiting) {
+            if (this.slots > 0) {
+                this.slots--;
+                return CompletableFuture.completedFuture(null);
+            }
+            final CompletableFuture<Void> slot = new CompletableFuture<>();
+            this.waiting.add(slot);
+            return slot;
+        }
+    }
+
+    /*
+     * the slot is handed to the next launch directly, it is completed outside of the lock.
+     */
+    private void releaseSlot() {
+        final CompletableFuture<Void> next;
+        synchronized (this.waiting) {
+            next = this.waiting.poll();
+            if (next == null) this.slots++;
+        }
+        if (next != null) next.complete(null);
+    }
+
+    private boolean reserve(int memory) {
+        int current;
+        do {
+            current = this.reserved.get();
+            if (current + memory > this.memory) return false;
+        } while (!this.reserved.compareAndSet(current, current + memory));
+        return true;
+    }
+
+    private void release(int memory) {
+        this.reserved.addAndGet(-memory);
+    }
+
+    @Override
+    public int getAvailableMemory() {
+        return this.memory - this.reserved.get();
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+        this.probes.shutdownNow();
+    }
+
+    private static boolean accepts(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", port), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int physicalMemory() {
+        final var bean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        return (int) (bean.getTotalMemorySize() / (1024 * 1024));
+    }
+
+}
@@ -0,0 +1,90 @@
+package net.rustmc.cloud.node.commons.service;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public final class ServerListPing {
+
+    private static final String HOST = "127.0.0.1";
+    /* the status is answered for every protocol version, so the version does not matter */
+    private static final int PROTOCOL = 47;
+    private static final int MAX_RESPONSE = 64 * 1024;
+
+    private ServerListPing() {
+    }
+
+    /**
+     * asks the server or proxy on the port for its status, like the server list of the client does.
+     *
+     * @return the players which are online on the service.
+     */
+    public static int players(int port, int timeout) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(HOST, port), timeout);
+            socket.setSoTimeout(timeout);
+            final OutputStream out = socket.getOutputStream();
+            final ByteArrayOutputStream handshake = new ByteArrayOutputStream();
+            writeVarInt(handshake, 0x00);
+            writeVarInt(handshake, PROTOCOL);
+            final byte[] host = HOST.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(handshake, host.length);
+            handshake.write(host);
+            handshake.write(port >> 8);
+            handshake.write(port);
+            /* the next state is the status */
+            writeVarInt(handshake, 1);
+            final ByteArrayOutputStream frames = new ByteArrayOutputStream();
+            writeVarInt(frames, handshake.size());
+            handshake.writeTo(frames);
+            writeVarInt(frames, 1);
+            writeVarInt(frames, 0x00);
+            frames.writeTo(out);
+            out.flush();
+
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            readVarInt(in);
+            if (readVarInt(in) != 0x00) throw new IOException("The service has not answered with its status.");
+            final int length = readVarInt(in);
+            if (length <= 0 || length > MAX_RESPONSE) throw new IOException("The status of the service has an invalid length.");
+            final byte[] response = new byte[length];
+            in.readFully(response);
+            final JsonObject status = JsonParser.parseString(new String(response, StandardCharsets.UTF_8)).getAsJsonObject();
+            return status.has("players") ? status.getAsJsonObject("players").get("online").getAsInt() : 0;
+        } catch (RuntimeException e) {
+            throw new IOException("The status of the service could not be read.", e);
+        }
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int i = 0; i < 5; i++) {
+            final byte current = in.readByte();
+            value |= (current & 0x7F) << (i * 7);
+            if ((current & 0x80) == 0) return value;
+        }
+        throw new IOException("The varint is too big.");
+    }
+
+}
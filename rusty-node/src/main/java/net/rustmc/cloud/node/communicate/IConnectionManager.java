@@ -0,0 +1,35 @@
+package net.rustmc.cloud.node.communicate;
+
+import net.rustmc.cloud.base.communicate.ICommunicateBaseChannel;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public interface IConnectionManager {
+
+    /**
+     * connects to the master and connects again with a growing delay whenever the connection is lost.
+     */
+    public void connect();
+
+    /**
+     * @return the channel of the current or the last connection, null before the first connection.
+     */
+    public ICommunicateBaseChannel getChannel();
+
+    /**
+     * @return true once the master has answered the handshake of the current connection.
+     */
+    public boolean isConnected();
+
+    /**
+     * marks the connection as alive, the master sends its heartbeats in a fixed interval.
+     */
+    public void heartbeat();
+
+    public void close();
+
+}
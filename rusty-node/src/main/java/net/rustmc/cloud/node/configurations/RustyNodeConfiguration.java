@@ -20,9 +20,51 @@ public final class RustyNodeConfiguration implements CloudConfiguration {
     private String host = "127.0.0.1";
     @ConfigurationProperty(name = "master.port")
     private int port = 187;
+    @ConfigurationProperty(name = "master.flush-consolidation")
+    private boolean flushConsolidation = false;
+    /* the node shuts down once it could not connect for the maximum attempts, otherwise it keeps trying */
     @ConfigurationProperty(name = "client.terminate-after-failure")
-    private boolean retry = false;
+    private boolean terminateAfterFailure = false;
+    @ConfigurationProperty(name = "client.reconnect.max-attempts")
+    private int maxReconnectAttempts = 10;
+    /* in milliseconds, the delay doubles with every failed attempt up to the maximum */
+    @ConfigurationProperty(name = "client.reconnect.initial-delay")
+    private int initialReconnectDelay = 1000;
+    @ConfigurationProperty(name = "client.reconnect.max-delay")
+    private int maxReconnectDelay = 60000;
+    /* the seconds without a heartbeat of the master after which the connection counts as lost, 0 disables it */
+    @ConfigurationProperty(name = "client.heartbeat-timeout")
+    private int heartbeatTimeout = 30;
     @ConfigurationProperty(name = "node.key")
     private int nodeKey = -1;
+    /* read-only jars of a template are hard linked into the services instead of copied, other files are always copied.
+     * a link shares the file with the template, a service running as root could still write through it. */
+    @ConfigurationProperty(name = "service.link-read-only")
+    private boolean linkReadOnly = false;
+    /* how many services may boot at the same time, booting servers are bound by the cpu */
+    @ConfigurationProperty(name = "service.parallel-starts")
+    private int parallelStarts = Runtime.getRuntime().availableProcessors();
+    /* the memory in megabytes all services of the node may use together, 0 uses the physical memory */
+    @ConfigurationProperty(name = "service.max-memory")
+    private int maxMemory = 0;
+    /* the servers of the node get their ports from this range, proxies always use the minecraft port */
+    @ConfigurationProperty(name = "service.port-range.start")
+    private int portRangeStart = 30000;
+    @ConfigurationProperty(name = "service.port-range.end")
+    private int portRangeEnd = 30999;
+    @ConfigurationProperty(name = "service.start-timeout")
+    private int startTimeout = 120;
+    /* a service is ready once a line of its console matches or its port accepts connections */
+    @ConfigurationProperty(name = "service.ready-pattern")
+    private String readyPattern = "Done \\(|Listening on";
+    /* the seconds between two saves of running static services, 0 only saves them when they stop */
+    @ConfigurationProperty(name = "service.save-interval")
+    private int saveInterval = 300;
+    /* the amount of lines every service keeps of its output */
+    @ConfigurationProperty(name = "service.console-lines")
+    private int consoleLines = 1000;
+    /* the seconds between two resource samples of the services which are sent to the master, 0 disables them */
+    @ConfigurationProperty(name = "node.sample-interval")
+    private int sampleInterval = 5;
 
 }
@@ -1,6 +1,11 @@
 package net.rustmc.cloud.node.groups;
 
 import net.rustmc.cloud.base.objects.SimpleCloudGroup;
+import net.rustmc.cloud.base.util.LatencyHistogram;
+import net.rustmc.cloud.node.service.INativeOnlineService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -10,10 +15,46 @@ import net.rustmc.cloud.base.objects.SimpleCloudGroup;
  */
 public interface IOnlineGroup {
 
-    public void start();
+    /**
+     * starts the minimum amount of services at once.
+     *
+     * @return a future which is completed once every service is ready.
+     */
+    public CompletableFuture<Void> start();
+
+    /**
+     * takes a warm service if there is one, otherwise a new one is started.
+     */
+    public CompletableFuture<INativeOnlineService> startService();
+
+    /**
+     * stops the service of the group with the configured timeout.
+     *
+     * @return a future which is completed once the process has exited, or at once if the group has no such service.
+     */
+    public CompletableFuture<Void> stopService(String name);
+
+    /**
+     * prepares new warm services in the background until the group has as many as configured.
+     */
+    public void refill();
 
-    public void shutdown();
+    /**
+     * stops every service of the group in parallel.
+     *
+     * @return a future which is completed once every process has exited.
+     */
+    public CompletableFuture<Void> shutdown();
 
     public SimpleCloudGroup getObject();
 
+    public String getPath();
+
+    public List<INativeOnlineService> getServices();
+
+    /**
+     * @return the milliseconds between the spawn of the services and their readiness.
+     */
+    public LatencyHistogram getStartLatency();
+
 }
@@ -8,4 +8,6 @@ public interface IOnlineGroupPool {
 
     public void register(IOnlineGroup onlineGroup);
 
+    public void unregister(IOnlineGroup onlineGroup);
+
 }
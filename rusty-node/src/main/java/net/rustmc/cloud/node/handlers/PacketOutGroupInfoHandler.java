@@ -6,6 +6,7 @@ import net.rustmc.cloud.base.packets.output.PacketOutGroupInfo;
 import net.rustmc.cloud.node.RustCloud;
 import net.rustmc.cloud.node.commons.groups.types.StaticGroupImpl;
 import net.rustmc.cloud.node.commons.groups.types.TemplateGroupImpl;
+import net.rustmc.cloud.node.groups.IOnlineGroup;
 
 public class PacketOutGroupInfoHandler {
 
@@ -13,13 +14,17 @@ public class PacketOutGroupInfoHandler {
         RustCloud.getCloud().getCommunicateBaseChannel().getBaseHandlerPool().subscribe(PacketOutGroupInfo.class, new CommunicateChannelHandler<PacketOutGroupInfo>() {
             @Override
             public void handle(PacketOutGroupInfo packet, ICommunicateChannel channel) {
-                RustCloud.getCloud()
-                        .getOnlineGroupPool()
-                        .register(packet.getCloudGroup().isTemplate() ?
-                                new TemplateGroupImpl(packet.getCloudGroup()) :
-                                new StaticGroupImpl(packet.getCloudGroup())
-                        )
-                ;
+                final var name = packet.getCloudGroup().getName();
+                /* the group info is sent after every synchronisation, a group only has to be started once */
+                for (IOnlineGroup group : RustCloud.getCloud().getOnlineGroupPool().getOnlineGroups()) {
+                    if (group.getObject().getName().equals(name)) return;
+                }
+                final IOnlineGroup group = packet.getCloudGroup().isTemplate() ?
+                        new TemplateGroupImpl(packet.getCloudGroup()) :
+                        new StaticGroupImpl(packet.getCloudGroup());
+                RustCloud.getCloud().getOnlineGroupPool().register(group);
+                final long start = System.currentTimeMillis();
+                group.start().thenRun(() -> RustCloud.getCloud().getCloudConsole().send("the §b" + name + " §rgroup has started §b" + group.getServices().size() + " §rservices in §b" + (System.currentTimeMillis() - start) + "ms§r (" + group.getStartLatency() + ")."));
             }
         });
     }
@@ -0,0 +1,48 @@
+package net.rustmc.cloud.node.handlers;
+
+import net.rustmc.cloud.base.common.Rust;
+import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
+import net.rustmc.cloud.base.communicate.ICommunicateChannel;
+import net.rustmc.cloud.base.console.ICloudConsole;
+import net.rustmc.cloud.base.packets.input.transfer.PacketInGroupManifest;
+import net.rustmc.cloud.base.packets.output.transfer.PacketOutGroupManifest;
+import net.rustmc.cloud.base.util.DirectoryManifest;
+import net.rustmc.cloud.node.RustCloud;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class PacketOutGroupManifestHandler {
+
+    public PacketOutGroupManifestHandler() {
+        RustCloud.getCloud().getCommunicateBaseChannel().getBaseHandlerPool().subscribe(PacketOutGroupManifest.class, new CommunicateChannelHandler<PacketOutGroupManifest>() {
+            @Override
+            public void handle(PacketOutGroupManifest packet, ICommunicateChannel channel) {
+                /* hashing new files may take a while, so it is kept away from the event loop */
+                Rust.getInstance().getAsynchronousExecutor().submit(() -> {
+                    final var kind = packet.getPrimitiveGroup().template ? "templates" : "statics";
+                    DirectoryManifest manifest;
+                    try {
+                        manifest = DirectoryManifest.refresh(
+                                Path.of(kind, packet.getPrimitiveGroup().name),
+                                new File("temp//manifests//" + kind + "-" + packet.getPrimitiveGroup().name + ".manifest")
+                        );
+                    } catch (IOException e) {
+                        RustCloud.getCloud().getCloudConsole().send("the manifest of the §c" + packet.getPrimitiveGroup().name + " §rgroup could not be created.", ICloudConsole.Output.ERROR);
+                        /* an empty manifest makes the master send every file again */
+                        manifest = new DirectoryManifest();
+                    }
+                    channel.respond(packet, new PacketInGroupManifest(manifest));
+                });
+            }
+        });
+    }
+
+}
@@ -0,0 +1,35 @@
+package net.rustmc.cloud.node.handlers;
+
+import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
+import net.rustmc.cloud.base.communicate.ICommunicateChannel;
+import net.rustmc.cloud.base.console.ICloudConsole;
+import net.rustmc.cloud.base.packets.output.PacketOutGroupStart;
+import net.rustmc.cloud.node.RustCloud;
+import net.rustmc.cloud.node.groups.IOnlineGroup;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class PacketOutGroupStartHandler {
+
+    public PacketOutGroupStartHandler() {
+        RustCloud.getCloud().getCommunicateBaseChannel().getBaseHandlerPool().subscribe(PacketOutGroupStart.class, new CommunicateChannelHandler<PacketOutGroupStart>() {
+            @Override
+            public void handle(PacketOutGroupStart packet, ICommunicateChannel channel) {
+                final var name = packet.getPrimitiveGroup().name;
+                for (IOnlineGroup group : RustCloud.getCloud().getOnlineGroupPool().getOnlineGroups()) {
+                    if (!group.getObject().getName().equals(name)) continue;
+                    for (int i = 0; i < packet.getAmount(); i++) {
+                        group.startService();
+                    }
+                    return;
+                }
+                RustCloud.getCloud().getCloudConsole().send("the §c" + name + " §rgroup is not running on this node.", ICloudConsole.Output.WARN);
+            }
+        });
+    }
+
+}
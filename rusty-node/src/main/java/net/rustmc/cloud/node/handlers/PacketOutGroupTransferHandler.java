@@ -1,33 +1,55 @@
 package net.rustmc.cloud.node.handlers;
 
-import lombok.SneakyThrows;
-import net.rustmc.cloud.base.common.communicate.files.SimpleChunkedFileHandler;
+import net.rustmc.cloud.base.common.Rust;
 import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
 import net.rustmc.cloud.base.communicate.ICommunicateChannel;
+import net.rustmc.cloud.base.console.ICloudConsole;
 import net.rustmc.cloud.base.packets.output.transfer.PacketOutGroupTransfer;
 import net.rustmc.cloud.base.util.FileHelper;
 import net.rustmc.cloud.base.util.ZipHelper;
 import net.rustmc.cloud.node.RustCloud;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class PacketOutGroupTransferHandler {
 
     public PacketOutGroupTransferHandler() {
         RustCloud.getCloud().getCommunicateBaseChannel().getBaseHandlerPool().subscribe(PacketOutGroupTransfer.class, new CommunicateChannelHandler<PacketOutGroupTransfer>() {
-            @SuppressWarnings("ResultOfMethodCallIgnored")
-            @SneakyThrows
             @Override
             public void handle(PacketOutGroupTransfer packet, ICommunicateChannel channel) {
-                final var zip = new File("temp//" + packet.getPrimitiveGroup().name + ".zip");
-                zip.createNewFile();
-                Files.write(zip.toPath(), SimpleChunkedFileHandler.read());
-                final var path = (packet.getPrimitiveGroup().template ? "templates" : "statics") + "//" + packet.getPrimitiveGroup().name;
-                FileHelper.create(new File(path));
-                ZipHelper.unzip(zip.getPath(), path);
+                /* unpacking waits for the workers, so it must neither block the event loop nor run on a worker itself */
+                RustCloud.getCloud().getStorageExecutor().execute(() -> {
+                    boolean applied = false;
+                    try {
+                        apply(packet);
+                        applied = true;
+                    } catch (IOException | RuntimeException e) {
+                        RustCloud.getCloud().getCloudConsole().send("the files of the §c" + packet.getPrimitiveGroup().name + " §rgroup could not be unpacked (§c" + e.getClass().getSimpleName() + "§r).", ICloudConsole.Output.ERROR);
+                    }
+                    /* the master waits for the answer before it sends the group, so a failure is answered as well */
+                    channel.respond(packet, new PacketOutGroupTransfer(packet.getPrimitiveGroup().name, packet.getPrimitiveGroup().template, applied));
+                });
             }
         });
     }
 
+    private static void apply(PacketOutGroupTransfer packet) throws IOException {
+        final var path = (packet.getPrimitiveGroup().template ? "templates" : "statics") + "//" + packet.getPrimitiveGroup().name;
+        FileHelper.create(new File(path));
+        /* the zip only contains the changed files and has already been verified by the file transfer */
+        final var zip = new File("temp//" + packet.getPrimitiveGroup().name + ".zip");
+        if (zip.exists()) {
+            ZipHelper.unzip(zip.toPath(), Path.of(path), Rust.getInstance().getWorkerExecutor());
+            Files.delete(zip.toPath());
+        }
+        final var root = Path.of(path).toAbsolutePath().normalize();
+        for (String removed : packet.getRemoved()) {
+            final var file = root.resolve(removed).normalize();
+            if (file.startsWith(root)) Files.deleteIfExists(file);
+        }
+    }
+
 }
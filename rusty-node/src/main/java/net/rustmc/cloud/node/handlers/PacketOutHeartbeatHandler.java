@@ -0,0 +1,27 @@
+package net.rustmc.cloud.node.handlers;
+
+import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
+import net.rustmc.cloud.base.communicate.ICommunicateChannel;
+import net.rustmc.cloud.base.packets.output.node.PacketOutHeartbeat;
+import net.rustmc.cloud.node.RustCloud;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class PacketOutHeartbeatHandler {
+
+    public PacketOutHeartbeatHandler() {
+        RustCloud.getCloud().getCommunicateBaseChannel().getBaseHandlerPool().subscribe(PacketOutHeartbeat.class, new CommunicateChannelHandler<PacketOutHeartbeat>() {
+            @Override
+            public void handle(PacketOutHeartbeat packet, ICommunicateChannel channel) {
+                /* answered on the event loop, so the round trip does not include the work of the node */
+                channel.respond(packet, new PacketOutHeartbeat());
+                RustCloud.getCloud().getConnectionManager().heartbeat();
+            }
+        });
+    }
+
+}
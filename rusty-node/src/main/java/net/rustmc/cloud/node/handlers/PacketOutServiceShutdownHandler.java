@@ -0,0 +1,28 @@
+package net.rustmc.cloud.node.handlers;
+
+import net.rustmc.cloud.base.communicate.CommunicateChannelHandler;
+import net.rustmc.cloud.base.communicate.ICommunicateChannel;
+import net.rustmc.cloud.base.packets.output.service.PacketOutServiceShutdown;
+import net.rustmc.cloud.node.RustCloud;
+import net.rustmc.cloud.node.groups.IOnlineGroup;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public class PacketOutServiceShutdownHandler {
+
+    public PacketOutServiceShutdownHandler() {
+        RustCloud.getCloud().getCommunicateBaseChannel().getBaseHandlerPool().subscribe(PacketOutServiceShutdown.class, new CommunicateChannelHandler<PacketOutServiceShutdown>() {
+            @Override
+            public void handle(PacketOutServiceShutdown packet, ICommunicateChannel channel) {
+                for (IOnlineGroup group : RustCloud.getCloud().getOnlineGroupPool().getOnlineGroups()) {
+                    group.stopService(packet.getName());
+                }
+            }
+        });
+    }
+
+}
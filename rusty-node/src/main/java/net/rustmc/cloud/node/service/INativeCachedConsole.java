@@ -1,5 +1,7 @@
 package net.rustmc.cloud.node.service;
 
+import net.rustmc.cloud.base.console.ICloudConsole;
+
 import java.util.List;
 
 /**
@@ -10,8 +12,25 @@ import java.util.List;
  */
 public interface INativeCachedConsole {
 
+    /**
+     * @return a copy of the cached lines, the oldest first.
+     */
     public List<String> getLines();
 
     public void register(String line);
 
+    /**
+     * caches the utf-8 encoded line, the oldest line is dropped if the console is full.
+     *
+     * @param output {@link ICloudConsole.Output#ERROR} for lines of the error stream.
+     */
+    public void register(byte[] line, int length, ICloudConsole.Output output);
+
+    /**
+     * @return a copy of the cached lines which were written to the given stream.
+     */
+    public List<String> getLines(ICloudConsole.Output output);
+
+    public int getCapacity();
+
 }
@@ -4,6 +4,9 @@ import net.rustmc.cloud.base.service.IOnlineService;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class belongs to the rusty-cloud project
@@ -21,4 +24,21 @@ public interface INativeOnlineService extends IOnlineService {
 
     public INativeCachedConsole getServiceConsole();
 
+    public boolean isAlive();
+
+    public ProcessHandle getProcessHandle();
+
+    public int getPort();
+
+    public Path getDirectory();
+
+    /**
+     * stops the service gracefully and escalates to sigterm and sigkill if it does not exit in time.
+     *
+     * @return a future which is completed once the process has exited.
+     */
+    public CompletableFuture<Void> stop(long timeout, TimeUnit unit);
+
+    public CompletableFuture<Void> onExit();
+
 }
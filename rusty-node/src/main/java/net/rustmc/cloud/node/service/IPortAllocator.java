@@ -0,0 +1,36 @@
+package net.rustmc.cloud.node.service;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public interface IPortAllocator {
+
+    /**
+     * leases a free port of the configured range to the service.
+     *
+     * @throws IllegalStateException if every port of the range is in use.
+     */
+    public int lease(String service);
+
+    /**
+     * leases exactly the given port, it may also be outside of the range.
+     *
+     * @throws IllegalStateException if the port is already in use.
+     */
+    public int lease(String service, int port);
+
+    public void release(int port);
+
+    /**
+     * @return the service the port is leased to or null.
+     */
+    public String getLease(int port);
+
+    public int getAvailablePorts();
+
+    public void close();
+
+}
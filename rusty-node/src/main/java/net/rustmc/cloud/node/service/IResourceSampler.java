@@ -0,0 +1,23 @@
+package net.rustmc.cloud.node.service;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public interface IResourceSampler {
+
+    /**
+     * samples the services of the node in the configured interval and sends what has changed to the master.
+     */
+    public void start();
+
+    /**
+     * lets the next sample contain everything again, e.g. after the master has lost its state.
+     */
+    public void requestFull();
+
+    public void close();
+
+}
@@ -0,0 +1,41 @@
+package net.rustmc.cloud.node.service;
+
+import net.rustmc.cloud.node.groups.IOnlineGroup;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+public interface IServiceStarter {
+
+    /**
+     * prepares the directory, copies the template, picks a port and spawns the service.
+     *
+     * @return a future which is completed once the service accepts connections.
+     */
+    public CompletableFuture<INativeOnlineService> start(IOnlineGroup group, int id);
+
+    /**
+     * only prepares the directory of the service and copies the template into it.
+     */
+    public CompletableFuture<PreparedService> prepare(IOnlineGroup group, int id);
+
+    /**
+     * picks a port and spawns the prepared service.
+     *
+     * @return a future which is completed once the service accepts connections.
+     */
+    public CompletableFuture<INativeOnlineService> launch(PreparedService service);
+
+    /**
+     * @return the memory in megabytes which is still free for new services.
+     */
+    public int getAvailableMemory();
+
+    public void close();
+
+}
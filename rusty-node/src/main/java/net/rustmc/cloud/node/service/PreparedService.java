@@ -0,0 +1,20 @@
+package net.rustmc.cloud.node.service;
+
+import net.rustmc.cloud.node.groups.IOnlineGroup;
+
+import java.nio.file.Path;
+
+/**
+ * This class belongs to the rusty-cloud project
+ *
+ * @author Alexander Jilge
+ * @since 17.10.2026
+ */
+/* a service whose directory is ready, but whose process has not been started yet */
+public record PreparedService(IOnlineGroup group, int id, Path directory) {
+
+    public String getName() {
+        return this.group.getObject().getName() + "-" + this.id;
+    }
+
+}